@@ -0,0 +1,56 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.dto.AnswerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Conversão da lista de {@code AnswerDTO} de um envio em {@code Map<Long, String>}, feita em todo
+ * {@code POST /{idPublic}/answers}, contra o {@code Collectors.toMap} usado antes no
+ * {@code FormController.answerForm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerCollectionBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int answers;
+
+    private List<AnswerDTO> answersDTO;
+
+    @Setup
+    public void setUp() {
+        answersDTO = new ArrayList<>(answers);
+        for (long questionId = 1; questionId <= answers; questionId++)
+            answersDTO.add(new AnswerDTO(questionId, "resposta " + questionId));
+    }
+
+    @Benchmark
+    public Map<Long, String> toAnswerMap() {
+        return AnswerDTO.toAnswerMap(answersDTO);
+    }
+
+    @Benchmark
+    public Map<Long, String> collectorsToMap() {
+        return answersDTO.stream().collect(Collectors.toMap(AnswerDTO::questionId, AnswerDTO::response));
+    }
+}
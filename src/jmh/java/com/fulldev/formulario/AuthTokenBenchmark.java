@@ -0,0 +1,77 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.service.TokenService;
+import com.fulldev.formulario.security.infra.config.SecurityFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de autenticação de cada requisição: extrair o token do cabeçalho, verificar o JWT e,
+ * no login, gerar um novo. A verificação só acontece quando o token não está no AuthenticatedUserCache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthTokenBenchmark {
+
+    private TokenService tokenService;
+    private SecurityFilter securityFilter;
+    private User user;
+    private String token;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "benchmark-secret");
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        user = new User("owner@example.com", "hash", UserRole.ADMIN);
+        token = tokenService.generateToken(user);
+
+        securityFilter = new SecurityFilter();
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/forms/my-forms");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/forms/public/public/abc");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validantionToken(token);
+    }
+
+    @Benchmark
+    public String recoverToken() {
+        return securityFilter.recoverToken(authenticatedRequest);
+    }
+
+    @Benchmark
+    public String recoverMissingToken() {
+        return securityFilter.recoverToken(anonymousRequest);
+    }
+}
@@ -0,0 +1,84 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.service.EmailTemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de renderização dos templates compilados contra a concatenação e o {@code String.format}
+ * que o EmailService usava antes. Com {@code -Djmh.args="-prof gc"} o {@code gc.alloc.rate.norm} mostra
+ * o que cada renderização aloca: o buffer fica na thread, então sobra basicamente a String final.
+ * {@link #milestoneTemplateConcurrent()} mede o mesmo com várias threads, cada uma com o próprio buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine engine;
+
+    private String link;
+    private String title;
+    private int count;
+    private Long formId;
+
+    @Setup
+    public void setUp() {
+        engine = new EmailTemplateEngine("pt-BR");
+        engine.load();
+        link = "https://fulldev-seven.vercel.app/verify?token=3f1c2a9e-7b7d-4a51-9f0e-5d8b6c1e2a47";
+        title = "Pesquisa de satisfação 2024";
+        count = 120;
+        formId = 4242L;
+    }
+
+    @Benchmark
+    public String verificationTemplate() {
+        return engine.render("verification", null, Map.of("link", link));
+    }
+
+    @Benchmark
+    public String verificationConcatenation() {
+        return "<p>Olá,</p>" +
+                "<p>Obrigado por se cadastrar. Clique no link abaixo para verificar sua conta:</p>" +
+                "<a href=\"" + link + "\">Verificar Conta</a>" +
+                "<p>Se você não se cadastrou, ignore este e-mail.</p>";
+    }
+
+    @Benchmark
+    public String milestoneTemplate() {
+        return engine.render("response-milestone", null, Map.of("title", title, "count", count, "formId", formId));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String milestoneTemplateConcurrent() {
+        return engine.render("response-milestone", null, Map.of("title", title, "count", count, "formId", formId));
+    }
+
+    @Benchmark
+    public String milestoneFormat() {
+        return String.format(
+                "<p>Olá %s,</p>" +
+                        "<p>Seu formulário '%s' recebeu um total de %d respostas!</p>" +
+                        "<p>Veja suas novas estatísticas atualizadas e importe um arquivo CSV com elas.</p>" +
+                        "<p><a href='https://fulldev-seven.vercel.app/form/builder?id=%d'>Clique aqui para acessar as estatísticas</a></p>",
+                "usuário do construtor de forms da fulldev", title, count, formId
+        );
+    }
+}
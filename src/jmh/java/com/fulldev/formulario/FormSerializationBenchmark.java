@@ -0,0 +1,78 @@
+package com.fulldev.formulario;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulldev.formulario.form.dto.FormDetailDTO;
+import com.fulldev.formulario.form.dto.PublicFormDTO;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de um formulário com N perguntas: {@code FormDetailDTO} na tela do dono
+ * ({@code GET /api/forms/{id}}) e {@code PublicFormDTO} quando o PublicFormCache precisa recarregar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int questions;
+
+    private ObjectMapper objectMapper;
+    private Form form;
+
+    @Setup
+    public void setUp() {
+        // mesmo builder que o Spring Boot usa para o ObjectMapper da aplicação
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        form = new Form();
+        form.setId(42L);
+        form.setTitle("Pesquisa de satisfação 2024");
+        form.setDescription("Conte como foi a sua experiência com o evento");
+        form.setCreatedBy("owner@example.com");
+        form.setIdPublic("3f1c2a9e-7b7d-4a51-9f0e-5d8b6c1e2a47");
+        form.setIsPublished(true);
+        for (int i = 0; i < questions; i++) {
+            Question question = new Question();
+            question.setId((long) i);
+            question.setForm(form);
+            question.setTitle("Pergunta " + i);
+            question.setType(i % 2 == 0 ? "text" : "radio");
+            question.setQuestionDescription("Descrição da pergunta " + i);
+            question.setRequired(i % 3 == 0);
+            if (i % 2 != 0)
+                question.setOptions(List.of("Ótimo", "Bom", "Regular", "Ruim"));
+            form.getQuestions().add(question);
+        }
+    }
+
+    @Benchmark
+    public byte[] formDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(FormDetailDTO.from(form));
+    }
+
+    @Benchmark
+    public byte[] publicForm() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PublicFormDTO.from(form));
+    }
+}
@@ -0,0 +1,63 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.infra.config.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teto de logins/cadastros por segundo na máquina atual para cada custo de BCrypt. Roda com mais
+ * threads que núcleos, como um pico de requisições: o resultado por segundo é o limite que o pool
+ * de hash consegue servir, e mostra quanto custa subir {@code api.security.password.bcrypt-strength}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(Threads.MAX)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BoundedPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), cores, 1024, new SimpleMeterRegistry());
+        hash = encoder.encode("Senha@123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.destroy();
+    }
+
+    @Benchmark
+    public String register() {
+        return encoder.encode("Senha@123");
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("Senha@123", hash);
+    }
+}
@@ -2,63 +2,107 @@ package com.fulldev.formulario.form.controller;
 
 import com.fulldev.formulario.form.dto.AnswerDTO;
 import com.fulldev.formulario.form.dto.FormDTO;
-import com.fulldev.formulario.form.dto.QuestionDTO;
+import com.fulldev.formulario.form.dto.FormDetailDTO;
+import com.fulldev.formulario.form.dto.FormSearchPageDTO;
+import com.fulldev.formulario.form.dto.FormStatisticsDTO;
+import com.fulldev.formulario.form.dto.FormSummaryDTO;
+import com.fulldev.formulario.form.dto.FormVersionDTO;
+import com.fulldev.formulario.form.dto.RepublishJobDTO;
 import com.fulldev.formulario.form.model.entities.Answer;
 import com.fulldev.formulario.form.model.entities.Form;
 import com.fulldev.formulario.form.model.entities.FormHasLogin;
-import com.fulldev.formulario.form.model.entities.Question;
 import com.fulldev.formulario.form.repositoryes.AnswerRepository;
 import com.fulldev.formulario.form.repositoryes.FormRepository;
 import com.fulldev.formulario.form.repositoryes.QuestionRepository;
+import com.fulldev.formulario.form.service.AnswerExportFormat;
+import com.fulldev.formulario.form.service.AnswerIngestionQueue;
+import com.fulldev.formulario.form.service.AnswerExportService;
+import com.fulldev.formulario.form.service.FormRepublishService;
+import com.fulldev.formulario.form.service.FormMetrics;
+import com.fulldev.formulario.form.service.FormSearchService;
 import com.fulldev.formulario.form.service.FormService;
+import com.fulldev.formulario.form.service.FormStatisticsService;
+import com.fulldev.formulario.form.service.FormViewCounter;
+import com.fulldev.formulario.form.service.PublicFormCache;
+import com.fulldev.formulario.form.service.PublicFormSnapshot;
+import com.fulldev.formulario.form.service.RepublishJob;
 import com.fulldev.formulario.security.domain.dto.LoginResponseDTO;
 import com.fulldev.formulario.security.domain.dto.RegisterDTO;
 import com.fulldev.formulario.security.domain.model.entity.User;
 import com.fulldev.formulario.security.domain.model.entity.UserRole;
-import com.fulldev.formulario.security.domain.repository.UserRepository;
-import com.fulldev.formulario.form.service.EmailService;
+import com.fulldev.formulario.security.domain.service.RequestUserResolver;
 import com.fulldev.formulario.security.domain.service.TokenService;
 import com.fulldev.formulario.security.domain.service.UserService;
+import com.fulldev.formulario.security.infra.config.CurrentUser;
+import com.fulldev.formulario.security.infra.config.PasswordHashingRejectedException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/forms")
 @RequiredArgsConstructor
 public class FormController {
 
+    private static final Logger log = LoggerFactory.getLogger(FormController.class);
+
     private final FormRepository formRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
-    private final UserRepository userRepository;
+    private final RequestUserResolver requestUserResolver;
     private final FormService formService;
     private final UserService userService;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
-    private final EmailService emailService;
-
-    private static final String BASE_URL = "https://fulldev-seven.vercel.app/form/preview?";
+    private final FormViewCounter formViewCounter;
+    private final PublicFormCache publicFormCache;
+    private final AnswerExportService answerExportService;
+    private final FormStatisticsService formStatisticsService;
+    private final ObjectProvider<AnswerIngestionQueue> answerIngestionQueue;
+    private final FormRepublishService formRepublishService;
+    private final FormMetrics formMetrics;
+    private final FormSearchService formSearchService;
+
+    private static final int DEFAULT_ANSWERS_PAGE_SIZE = 500;
+    private static final int MAX_ANSWERS_PAGE_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    @Value("${api.forms.ingestion.retry-after-seconds:1}")
+    private int ingestionRetryAfterSeconds;
+
+    @Value("${api.security.password.retry-after-seconds:1}")
+    private int passwordRetryAfterSeconds;
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUserToAnswerForm(@RequestBody @Valid RegisterDTO registerDTO) {
         try {
             
-            if (userRepository.findByEmail(registerDTO.email()) != null) {
+            if (requestUserResolver.findByEmail(registerDTO.email()) != null) {
                 return ResponseEntity.badRequest().body("Usuário já existe");
             }
 
@@ -66,18 +110,22 @@ public class FormController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Campos obrigatórios estão inválidos ou vazios.");
             }
 
-            String encryptedPassword = new BCryptPasswordEncoder().encode(registerDTO.password());
+            // o único hash da requisição acontece antes de gravar: se o pool de hashing recusar, nada é criado
+            // e o cliente pode repetir o cadastro depois do Retry-After
+            String encryptedPassword = passwordEncoder.encode(registerDTO.password());
 
             User newUser = new User(registerDTO.email(), encryptedPassword, UserRole.USER);
-            
-            userRepository.save(newUser);
 
-            var emailAndPassword = new UsernamePasswordAuthenticationToken(registerDTO.email(), registerDTO.password());
-            var auth = this.authenticationManager.authenticate(emailAndPassword);
+            // a senha acabou de ser codificada a partir do próprio DTO; autenticar de novo só repetiria o bcrypt
+            userService.saveUser(newUser);
 
-            var token = tokenService.generateToken((User) auth.getPrincipal());
+            var token = tokenService.generateToken(newUser);
 
             return ResponseEntity.ok(new LoginResponseDTO(token));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordRetryAfterSeconds))
+                    .body(e.getMessage());
         } catch (Exception e) {
             throw new RuntimeException("Erro ao registrar usuário ou atualizar formulários", e);
         }
@@ -86,53 +134,17 @@ public class FormController {
     @PatchMapping("/default-settings/{standard}")
     public ResponseEntity defaultFormSettings(@PathVariable String standard,
                                               @RequestBody Map<String, Object> payload,
-                                              Principal principal){
+                                              @CurrentUser User user){
         try{
-        String loggedUserEmail = principal.getName();
-        List<Form> forms = formRepository.findByCreatedBy(loggedUserEmail);
+            String loggedUserEmail = user.getEmail();
             String password = (String) payload.get("password");
             boolean sendEmail = (Boolean) payload.get("sendEmail");
 
-            if (standard.equals(FormHasLogin.PRIVATE.toString().toLowerCase())) {
-                for (Form form : forms) {
-                    if (form.getIsPublished()) {
-                        String idPublic = UUID.randomUUID().toString();
-                        String link = BASE_URL + "logintype=" + standard + "&form=" + idPublic;
-                        form.setSendEmailResponsesCount(sendEmail);
-                        form.setFormHasLogin(FormHasLogin.PRIVATE);
-                        form.setLink(link);
-                        form.setIdPublic(idPublic);
-                        formRepository.save(form);
-                    }
-                }
-            }
-            if (FormHasLogin.PASSWORD.getFormLoginType().toLowerCase().equals(standard)) {
-                for (Form form : forms) {
-                    if (form.getIsPublished()) {
-                        String idPublic = UUID.randomUUID().toString();
-                        String link = BASE_URL + "logintype=" + standard + "&form=" + idPublic;
-                        form.setSendEmailResponsesCount(sendEmail);
-                        form.setFormHasLogin(FormHasLogin.PASSWORD);
-                        form.setAccessPassword(password);
-                        form.setLink(link);
-                        form.setIdPublic(idPublic);
-                        formRepository.save(form);
-                    }
-                }
-            }
-            if (FormHasLogin.PUBLIC.getFormLoginType().toLowerCase().equals(standard)) {
-                for (Form form : forms) {
-                    if (form.getIsPublished()) {
-                        String idPublic = UUID.randomUUID().toString();
-                        String link = BASE_URL + "logintype=" + standard + "&form=" + idPublic;
-                        form.setSendEmailResponsesCount(sendEmail);
-                        form.setFormHasLogin(FormHasLogin.PUBLIC);
-                        form.setLink(link);
-                        form.setIdPublic(idPublic);
-                        formRepository.save(form);
-                    }
-                }
-            }
+            Optional<RepublishJob> job = formRepublishService.defaultFormSettings(loggedUserEmail, standard, password, sendEmail);
+            if (job.isPresent())
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/forms/default-settings/jobs/" + job.get().getId()))
+                        .body(job.get().toDTO());
 
             return ResponseEntity.ok().body("configurações do formulário alteradas com sucesso");
 
@@ -141,98 +153,61 @@ public class FormController {
         }
     }
 
+    @GetMapping("/default-settings/jobs/{jobId}")
+    public ResponseEntity<RepublishJobDTO> getDefaultSettingsJob(@PathVariable String jobId, @CurrentUser User user) {
+        return formRepublishService.getJob(jobId, user.getEmail())
+                .map(job -> ResponseEntity.ok(job.toDTO()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+    }
 
     @PostMapping
-    public ResponseEntity<Form> createForm(@RequestBody @Valid FormDTO formDTO, Principal principal) {
-        String email = principal.getName();
+    public ResponseEntity<FormDetailDTO> createForm(@RequestBody @Valid FormDTO formDTO, @CurrentUser User user) {
+        Form form = formService.createForm(formDTO, user.getUsername());
 
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            email = oAuth2User.getAttribute("email");
-        }
-        User user = (User) userRepository.findByEmail(email);
-
-        Form form = new Form();
-        form.setTitle(formDTO.title());
-        form.setDescription(formDTO.description());
-        form.setCreatedBy(user.getUsername());
-        form.setIsPublished(false);
-        formRepository.save(form);
-
-        for (QuestionDTO questionDTO : formDTO.questions()) {
-            Question question = new Question();
-            question.setForm(form);
-            question.setTitle(questionDTO.title());
-            question.setOptions(questionDTO.options());
-            question.setType(questionDTO.type());
-            question.setRequired(questionDTO.required());
-            question.setQuestionDescription(questionDTO.questionDescription());
-            questionRepository.save(question);
-        }
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(form);
+        return ResponseEntity.status(HttpStatus.CREATED).body(FormDetailDTO.from(form));
     }
 
     @GetMapping("/my-forms")
-    public ResponseEntity<List<Form>> getFormsByLoggedUser(Principal principal) {
-        String email = principal.getName();
-
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            email = oAuth2User.getAttribute("email");
-        }
-
-        User user = (User) userRepository.findByEmail(email);
-
-        List<Form> forms = formRepository.findByCreatedBy(user.getEmail());
+    public ResponseEntity<List<FormSummaryDTO>> getFormsByLoggedUser(@CurrentUser User user) {
+        List<FormSummaryDTO> forms = formService.getFormSummaries(user.getEmail());
 
         return ResponseEntity.ok(forms);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<FormSearchPageDTO> searchMyForms(@RequestParam("q") String query,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "" + DEFAULT_SEARCH_PAGE_SIZE) int size,
+                                                           @CurrentUser User user) {
+        if (page < 0 || size < 1)
+            return ResponseEntity.badRequest().build();
+        int pageSize = Math.min(size, MAX_SEARCH_PAGE_SIZE);
+        return ResponseEntity.ok(formSearchService.search(user.getEmail(), query, page, pageSize));
+    }
 
     @GetMapping("/my-forms/public")
-    public ResponseEntity<List<Form>> getMyPublicForms(Principal principal){
-        String email = principal.getName();
-
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            email = oAuth2User.getAttribute("email");
-        }
-
-        List<Form> forms = formRepository.findByCreatedByAndIsPublishedTrue(email);
+    public ResponseEntity<List<FormSummaryDTO>> getMyPublicForms(@CurrentUser User user){
+        List<FormSummaryDTO> forms = formService.getPublishedFormSummaries(user.getEmail());
 
         return ResponseEntity.ok(forms);
     }
 
     @PatchMapping("/{id}/publish")
-    public ResponseEntity<?> publishForm(@PathVariable Long id, Principal principal) {
-        String email = principal.getName();
-
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            email = oAuth2User.getAttribute("email");
-        }
+    public ResponseEntity<?> publishForm(@PathVariable Long id, @CurrentUser User user) {
+        Form form = formRepository.findByIdAndCreatedBy(id, user.getEmail()).orElse(null);
 
-        Form form = formRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Formulário não encontrado"));
-
-        if (!form.getCreatedBy().equals(email)) {
+        if (form == null) {
+            notFoundIfMissing(id);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Formulário não encontrado");
         }
-        String idPublic = UUID.randomUUID().toString();
-        String link = BASE_URL + "logintype=" + form.getFormHasLogin().toString().toLowerCase() + "&form=" + idPublic;
-
-        form.setIsPublished(true);
-        form.setLink(link);
-        form.setIdPublic(idPublic);
-        formRepository.save(form);
+        String link = formService.publishForm(form);
 
         return ResponseEntity.ok(Map.of("message", "Form published successfully", "link", link));
     }
 
     @GetMapping("/public/{formHasLoginType}/{idPublic}")
-    public ResponseEntity<?> getPublicForm(@PathVariable String formHasLoginType, @PathVariable String idPublic, @RequestParam(required = false) String password, @RequestParam(required = false) Principal principal) {
-        Form form = formRepository.findByidPublic(idPublic);
+    public ResponseEntity<?> getPublicForm(@PathVariable String formHasLoginType, @PathVariable String idPublic, @RequestParam(required = false) String password, @RequestParam(required = false) Principal principal, WebRequest webRequest) {
+        PublicFormSnapshot snapshot = publicFormCache.get(idPublic);
         String email = "";
         if(principal != null) {
              email = principal.getName();
@@ -243,41 +218,38 @@ public class FormController {
             }
         }
 
-        if (form == null)
+        if (snapshot == null)
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Formulário não encontrado. O link fornecido não existe");
 
-        int views = form.getViews() + 1;
-        form.setViews(views);
-        formRepository.save(form);
+        formViewCounter.increment(snapshot.formId());
 
-        if (!form.getIsPublished())
+        if (!snapshot.published())
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
 
         if(password.isEmpty()) {
             if (formHasLoginType.equals(FormHasLogin.PUBLIC.toString().toLowerCase()))
-                return ResponseEntity.ok(form);
+                return publicFormResponse(snapshot, webRequest);
 
 
             if (formHasLoginType.equals(FormHasLogin.PRIVATE.toString().toLowerCase())) {
 
                 if (email.isEmpty())
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Autenticação necessária. Esse formulário é: " + form.getFormHasLogin());
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Autenticação necessária. Esse formulário é: " + snapshot.formHasLogin());
 
-                if (this.userRepository.findByEmail(email) != null)
-                    return ResponseEntity.ok(form);
+                if (requestUserResolver.findByEmail(email) != null)
+                    return publicFormResponse(snapshot, webRequest);
 
             }
         }else {
 
             if (formHasLoginType.equals(FormHasLogin.PASSWORD.toString().toLowerCase())) {
-                if (password.equals(form.getAccessPassword())) {
-                    System.out.println("senha correta");
-                    return ResponseEntity.ok(form);
+                if (password.equals(snapshot.accessPassword())) {
+                    return publicFormResponse(snapshot, webRequest);
                 }
 
-                if (!password.equals(form.getAccessPassword())) {
-                    System.out.println("senha errada");
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Autenticação necessária. Esse formulário é: " + form.getFormHasLogin());
+                if (!password.equals(snapshot.accessPassword())) {
+                    log.debug("Senha incorreta para o formulário {}", snapshot.formId());
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Autenticação necessária. Esse formulário é: " + snapshot.formHasLogin());
                 }
             }
         }
@@ -286,124 +258,180 @@ public class FormController {
 
     }
 
+    private ResponseEntity<byte[]> publicFormResponse(PublicFormSnapshot snapshot, WebRequest webRequest) {
+        if (webRequest.checkNotModified(snapshot.etag()))
+            return null;
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
     @PostMapping("/{idPublic}/answers")
     public ResponseEntity<?> answerForm(@PathVariable String idPublic, @RequestBody List<AnswerDTO> answersDTO) {
+        AnswerIngestionQueue ingestionQueue = answerIngestionQueue.getIfAvailable();
+        if (ingestionQueue != null)
+            return enqueueAnswer(ingestionQueue, idPublic, answersDTO);
+
         Form form = formRepository.findByidPublic(idPublic);
 
+        if (form == null) {
+            formMetrics.submission(null, "not_found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Formulário não encontrado. O link fornecido não existe");
+        }
+
         if (!form.getIsPublished()) {
+            formMetrics.submission(form.getId(), "unpublished");
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Form is not published yet.");
         }
 
-        Answer answer = new Answer();
-        answer.setForm(form);
-        answer.setAnswers(
-                answersDTO.stream()
-                        .collect(Collectors.toMap(AnswerDTO::questionId, AnswerDTO::response))
-        );
-        answerRepository.save(answer);
-        int countResponses = form.getResponsesCount() + 1;
-        form.setResponsesCount(countResponses);
-        formRepository.save(form);
-
-        if (countResponses % 10 == 0 && form.isSendEmailResponsesCount()) {
-            String email = form.getCreatedBy();
-            String subject = "Atualização do Formulário: Respostas Recebidas";
-            String message = String.format(
-                    "<p>Olá %s,</p>" +
-                            "<p>Seu formulário '%s' recebeu um total de %d respostas!</p>" +
-                            "<p>Veja suas novas estatísticas atualizadas e importe um arquivo CSV com elas.</p>" +
-                            "<p><a href='https://fulldev-seven.vercel.app/form/builder?id=%d'>Clique aqui para acessar as estatísticas</a></p>",
-                    "usuário do construtor de forms da fulldev", form.getTitle(), countResponses, form.getId()
-            );
-
-            emailService.sendSimpleEmail(email, subject, message);
+        Map<Long, String> answers = AnswerDTO.toAnswerMap(answersDTO);
+        if (answers == null) {
+            formMetrics.submission(form.getId(), "invalid");
+            return ResponseEntity.badRequest().body("Respostas inválidas.");
         }
 
+        formService.registerAnswer(form, answers);
+        formMetrics.submission(form.getId(), "stored");
+
             return ResponseEntity.status(HttpStatus.CREATED).body("Response submitted successfully.");
         }
 
-    @GetMapping("/{id}/answers")
-    public ResponseEntity<List<Answer>> getFormAnswers(@PathVariable Long id, Principal principal) {
-        String email = principal.getName();
+    private ResponseEntity<?> enqueueAnswer(AnswerIngestionQueue ingestionQueue, String idPublic, List<AnswerDTO> answersDTO) {
+        PublicFormSnapshot snapshot = publicFormCache.get(idPublic);
 
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            email = oAuth2User.getAttribute("email");
+        if (snapshot == null) {
+            formMetrics.submission(null, "not_found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Formulário não encontrado. O link fornecido não existe");
         }
 
-        Form form = formRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Formulário não encontrado"));
+        if (!snapshot.published()) {
+            formMetrics.submission(snapshot.formId(), "unpublished");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Form is not published yet.");
+        }
 
-        if (!form.getCreatedBy().equals(email)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        // a gravação é assíncrona, então respostas inválidas precisam ser recusadas aqui
+        Map<Long, String> answers = AnswerDTO.toAnswerMap(answersDTO);
+        if (answers == null) {
+            formMetrics.submission(snapshot.formId(), "invalid");
+            return ResponseEntity.badRequest().body("Respostas inválidas.");
         }
 
-        List<Answer> answers = answerRepository.findByForm(form);
-        return ResponseEntity.ok(answers);
+        String receiptId = ingestionQueue.offer(snapshot.formId(), answers);
+        if (receiptId == null) {
+            formMetrics.submission(snapshot.formId(), "throttled");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ingestionRetryAfterSeconds))
+                    .body("Muitas respostas sendo recebidas, tente novamente em instantes.");
+        }
+
+        formMetrics.submission(snapshot.formId(), "queued");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("receiptId", receiptId));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<Form> getFormById(@PathVariable Long id, Principal principal) {
-        String userEmail = principal.getName();
+    @GetMapping("/{id}/answers")
+    public ResponseEntity<List<Answer>> getFormAnswers(@PathVariable Long id,
+                                                       @RequestParam(defaultValue = "0") Long after,
+                                                       @RequestParam(defaultValue = "" + DEFAULT_ANSWERS_PAGE_SIZE) int size,
+                                                       @CurrentUser User user) {
+        if (!formRepository.existsByIdAndCreatedBy(id, user.getEmail()))
+            return forbiddenOrNotFound(id);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_ANSWERS_PAGE_SIZE));
+        List<Answer> answers = answerRepository.findByFormIdAndIdGreaterThanOrderByIdAsc(id, after, Limit.of(pageSize));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (answers.size() == pageSize)
+            response.header(NEXT_CURSOR_HEADER, answers.get(answers.size() - 1).getId().toString());
+        return response.body(answers);
+    }
 
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            userEmail = oAuth2User.getAttribute("email");
+    @GetMapping("/{id}/answers/export")
+    public ResponseEntity<StreamingResponseBody> exportFormAnswers(@PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "csv") String format,
+                                                                   @CurrentUser User user) {
+        if (!formRepository.existsByIdAndCreatedBy(id, user.getEmail()))
+            return forbiddenOrNotFound(id);
+
+        AnswerExportFormat exportFormat;
+        try {
+            exportFormat = AnswerExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
         }
-        User user = (User) userRepository.findByEmail(userEmail);
 
-        Form form = formRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Formulário não encontrado"));
+        Long formId = id;
+        StreamingResponseBody body = out -> answerExportService.export(formId, exportFormat, out);
 
-        if (!form.getCreatedBy().equals(user.getEmail())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
-        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("formulario-" + formId + "-respostas." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
 
-        return ResponseEntity.ok(form);
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<FormStatisticsDTO> getFormStatistics(@PathVariable Long id, @CurrentUser User user) {
+        Form form = formRepository.findByIdAndCreatedBy(id, user.getEmail()).orElse(null);
+        if (form == null)
+            return forbiddenOrNotFound(id);
+
+        return ResponseEntity.ok(formStatisticsService.getStatistics(form));
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<Form> updateForm(@PathVariable Long id, @RequestBody FormDTO formDTO, Principal principal) {
-        String email = principal.getName();
+    @PostMapping("/{id}/stats/rebuild")
+    public ResponseEntity<FormStatisticsDTO> rebuildFormStatistics(@PathVariable Long id, @CurrentUser User user) {
+        Form form = formRepository.findByIdAndCreatedBy(id, user.getEmail()).orElse(null);
+        if (form == null)
+            return forbiddenOrNotFound(id);
 
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            email = oAuth2User.getAttribute("email");
-        }
+        formStatisticsService.rebuild(form.getId());
+        return ResponseEntity.ok(formStatisticsService.getStatistics(form));
+    }
 
-        User user = (User) userRepository.findByEmail(email);
-        Form form = formRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Formulário não encontrado"));
+    @GetMapping("/{id}")
+    public ResponseEntity<FormDetailDTO> getFormById(@PathVariable Long id, @CurrentUser User user, WebRequest webRequest) {
+        FormVersionDTO version = formRepository.findVersionByIdAndCreatedBy(id, user.getEmail());
+        if (version != null && webRequest.checkNotModified(version.etag()))
+            return null;
 
-        if (!form.getCreatedBy().equals(user.getEmail())){
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
-        }
+        FormDetailDTO form = formService.getFormDetail(id, user.getEmail()).orElse(null);
 
-        Form updatedForm = formService.updateForm(id, formDTO);
+        if (form == null)
+            return forbiddenOrNotFound(id);
 
-        return ResponseEntity.ok(updatedForm);
+        return ResponseEntity.ok(form);
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity deleteFormById(@PathVariable Long id, Principal principal){
-        String email = principal.getName();
-
-        if (principal instanceof OAuth2AuthenticationToken) {
-            OAuth2User oAuth2User = ((OAuth2AuthenticationToken) principal).getPrincipal();
-            email = oAuth2User.getAttribute("email");
-        }
+    @PutMapping("/{id}")
+    public ResponseEntity<FormDetailDTO> updateForm(@PathVariable Long id, @RequestBody FormDTO formDTO, @CurrentUser User user) {
+        return formService.updateForm(id, user.getEmail(), formDTO)
+                .map(updatedForm -> ResponseEntity.ok(FormDetailDTO.from(updatedForm)))
+                .orElseGet(() -> forbiddenOrNotFound(id));
+    }
 
+    @DeleteMapping("/{id}")
+    public ResponseEntity deleteFormById(@PathVariable Long id, @CurrentUser User user){
+        if (!formService.deleteFormById(id, user.getEmail()))
+            return forbiddenOrNotFound(id);
 
-        User user = (User) userRepository.findByEmail(email);
-        Form form = formRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Formulário não encontrado"));
+        return ResponseEntity.ok().body("Formulário deletado com sucesso");
+    }
 
-        if (!form.getCreatedBy().equals(user.getEmail())){
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
-        }
+    /**
+     * Chamado quando a consulta limitada ao dono não achou nada: só então descobre se o formulário
+     * não existe (404) ou é de outro usuário (403).
+     */
+    private <T> ResponseEntity<T> forbiddenOrNotFound(Long id) {
+        notFoundIfMissing(id);
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+    }
 
-        ResponseEntity deleteForm = formService.deleteFormById(id);
-        return deleteForm;
+    private void notFoundIfMissing(Long id) {
+        if (!formRepository.existsById(id))
+            throw new ResourceNotFoundException("Formulário não encontrado");
     }
 
 
@@ -1,4 +1,22 @@
 package com.fulldev.formulario.form.dto;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public record AnswerDTO(Long questionId, String response) {
+
+    /**
+     * Respostas de um envio indexadas pela pergunta, ou {@code null} se alguma não tiver
+     * {@code questionId} ou repetir uma pergunta. Respostas em branco ({@code response} nulo) são aceitas.
+     */
+    public static Map<Long, String> toAnswerMap(List<AnswerDTO> answersDTO) {
+        Map<Long, String> answers = new HashMap<>((int) (answersDTO.size() / 0.75f) + 1);
+        for (AnswerDTO answerDTO : answersDTO) {
+            if (answerDTO.questionId() == null || answers.containsKey(answerDTO.questionId()))
+                return null;
+            answers.put(answerDTO.questionId(), answerDTO.response());
+        }
+        return answers;
+    }
 }
@@ -0,0 +1,21 @@
+package com.fulldev.formulario.form.dto;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record FormDetailDTO(Long id, String title, String description, String createdBy, String link, String idPublic,
+                            FormHasLogin formHasLogin, String accessPassword, boolean sendEmailResponsesCount,
+                            int responsesCount, int views, Boolean isPublished, LocalDateTime createdAt,
+                            Integer rateLimitPerMinute, List<QuestionDetailDTO> questions) {
+
+    public static FormDetailDTO from(Form form) {
+        return new FormDetailDTO(form.getId(), form.getTitle(), form.getDescription(), form.getCreatedBy(), form.getLink(),
+                form.getIdPublic(), form.getFormHasLogin(), form.getAccessPassword(), form.isSendEmailResponsesCount(),
+                form.getResponsesCount(), form.getViews(), form.getIsPublished(), form.getCreatedAt(),
+                form.getRateLimitPerMinute(),
+                form.getQuestions().stream().map(QuestionDetailDTO::from).toList());
+    }
+}
@@ -0,0 +1,9 @@
+package com.fulldev.formulario.form.dto;
+
+/**
+ * Um trecho encontrado pela busca. {@code kind} diz onde o termo apareceu (TITLE, DESCRIPTION,
+ * QUESTION ou ANSWER); {@code questionId} e {@code answerId} vêm preenchidos quando se aplicam.
+ */
+public record FormSearchHitDTO(Long formId, String formTitle, String kind, Long questionId, Long answerId,
+                               String content, double rank) {
+}
@@ -0,0 +1,6 @@
+package com.fulldev.formulario.form.dto;
+
+import java.util.List;
+
+public record FormSearchPageDTO(String query, int page, int size, long total, List<FormSearchHitDTO> hits) {
+}
@@ -0,0 +1,6 @@
+package com.fulldev.formulario.form.dto;
+
+import java.util.List;
+
+public record FormStatisticsDTO(Long formId, int responsesCount, List<QuestionStatisticsDTO> questions) {
+}
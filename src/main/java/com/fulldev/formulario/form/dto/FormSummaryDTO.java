@@ -0,0 +1,10 @@
+package com.fulldev.formulario.form.dto;
+
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
+
+import java.time.LocalDateTime;
+
+public record FormSummaryDTO(Long id, String title, String description, int responsesCount, int views,
+                             Boolean isPublished, String link, String idPublic, FormHasLogin formHasLogin,
+                             LocalDateTime createdAt) {
+}
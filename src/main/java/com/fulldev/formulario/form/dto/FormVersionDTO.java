@@ -0,0 +1,8 @@
+package com.fulldev.formulario.form.dto;
+
+public record FormVersionDTO(Long id, long contentVersion, int responsesCount, int views) {
+
+    public String etag() {
+        return "\"" + id + "-" + contentVersion + "-" + responsesCount + "-" + views + "\"";
+    }
+}
@@ -0,0 +1,18 @@
+package com.fulldev.formulario.form.dto;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PublicFormDTO(Long id, String idPublic, String title, String description, String link,
+                            FormHasLogin formHasLogin, Boolean isPublished, LocalDateTime createdAt,
+                            List<QuestionDetailDTO> questions) {
+
+    public static PublicFormDTO from(Form form) {
+        return new PublicFormDTO(form.getId(), form.getIdPublic(), form.getTitle(), form.getDescription(), form.getLink(),
+                form.getFormHasLogin(), form.getIsPublished(), form.getCreatedAt(),
+                form.getQuestions().stream().map(QuestionDetailDTO::from).toList());
+    }
+}
@@ -0,0 +1,14 @@
+package com.fulldev.formulario.form.dto;
+
+import com.fulldev.formulario.form.model.entities.Question;
+
+import java.util.List;
+
+public record QuestionDetailDTO(Long id, String title, String questionDescription, String type, List<String> options, boolean required, String placeholder) {
+
+    public static QuestionDetailDTO from(Question question) {
+        List<String> options = question.getOptions() == null ? null : List.copyOf(question.getOptions());
+        return new QuestionDetailDTO(question.getId(), question.getTitle(), question.getQuestionDescription(),
+                question.getType(), options, question.isRequired(), question.getPlaceholder());
+    }
+}
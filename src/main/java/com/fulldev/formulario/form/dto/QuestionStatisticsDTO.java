@@ -0,0 +1,7 @@
+package com.fulldev.formulario.form.dto;
+
+import java.util.Map;
+
+public record QuestionStatisticsDTO(Long questionId, String title, String type, long answeredCount, double fillRate,
+                                    Map<String, Long> optionCounts) {
+}
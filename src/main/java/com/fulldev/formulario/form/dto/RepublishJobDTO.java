@@ -0,0 +1,4 @@
+package com.fulldev.formulario.form.dto;
+
+public record RepublishJobDTO(String jobId, String status, int total, int processed, String error) {
+}
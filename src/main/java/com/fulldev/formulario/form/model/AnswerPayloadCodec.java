@@ -0,0 +1,113 @@
+package com.fulldev.formulario.form.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Codifica uma resposta inteira em um único payload binário.
+ * <p>
+ * Formato: um byte de versão, a quantidade de entradas em varint e, para cada entrada em ordem
+ * crescente de id da pergunta, o id em varint, o tamanho do texto UTF-8 mais um em varint (zero
+ * para resposta nula) e os bytes do texto. Como cada entrada traz o próprio tamanho, a leitura de
+ * poucas perguntas pula as demais sem criar {@link String}s.
+ */
+public final class AnswerPayloadCodec {
+
+    private static final byte VERSION = 1;
+
+    private AnswerPayloadCodec() {
+    }
+
+    public static byte[] encode(Map<Long, String> answers) {
+        Map<Long, String> sorted = new TreeMap<>();
+        answers.forEach((questionId, response) -> {
+            if (questionId != null)
+                sorted.put(questionId, response);
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + sorted.size() * 24);
+        out.write(VERSION);
+        writeVarLong(out, sorted.size());
+        for (Map.Entry<Long, String> entry : sorted.entrySet()) {
+            writeVarLong(out, entry.getKey());
+            if (entry.getValue() == null) {
+                writeVarLong(out, 0);
+                continue;
+            }
+            byte[] bytes = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, bytes.length + 1L);
+            out.write(bytes, 0, bytes.length);
+        }
+        return out.toByteArray();
+    }
+
+    public static Map<Long, String> decode(byte[] payload) {
+        return decode(payload, null);
+    }
+
+    /**
+     * Decodifica apenas as perguntas pedidas; {@code null} decodifica todas.
+     */
+    public static Map<Long, String> decode(byte[] payload, Set<Long> questionIds) {
+        Map<Long, String> answers = new LinkedHashMap<>();
+        if (payload == null || payload.length == 0)
+            return answers;
+
+        Reader reader = new Reader(payload);
+        byte version = payload[reader.position++];
+        if (version != VERSION)
+            throw new IllegalArgumentException("Versão de payload de resposta desconhecida: " + version);
+
+        long count = reader.readVarLong();
+        int remaining = questionIds == null ? Integer.MAX_VALUE : questionIds.size();
+        for (long i = 0; i < count && remaining > 0; i++) {
+            long questionId = reader.readVarLong();
+            int length = (int) reader.readVarLong();
+            if (questionIds != null && !questionIds.contains(questionId)) {
+                reader.position += Math.max(0, length - 1);
+                continue;
+            }
+
+            String response = length == 0
+                    ? null
+                    : new String(payload, reader.position, length - 1, StandardCharsets.UTF_8);
+            reader.position += Math.max(0, length - 1);
+            answers.put(questionId, response);
+            remaining--;
+        }
+        return answers;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+
+        private final byte[] payload;
+        private int position;
+
+        Reader(byte[] payload) {
+            this.payload = payload;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = payload[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("Payload de resposta corrompido");
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.fulldev.formulario.form.model.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fulldev.formulario.form.model.AnswerPayloadCodec;
 import com.fulldev.formulario.security.domain.model.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Length;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,7 +19,8 @@ import java.util.Map;
 public class Answer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answer_seq")
+    @SequenceGenerator(name = "answer_seq", sequenceName = "answer_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -29,8 +33,20 @@ public class Answer {
     private User answeredBy;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "answer_details", joinColumns = @JoinColumn(name = "answer_id"))
     @MapKeyColumn(name = "question_id")
     @Column(name = "response")
     private Map<Long, String> answers = new HashMap<>();
+
+    // armazenamento compacto: a resposta inteira em uma coluna, sem linhas em answer_details
+    @JsonIgnore
+    @Column(name = "payload", length = Length.LONG32)
+    private byte[] payload;
+
+    public Map<Long, String> getAnswers() {
+        if (payload == null)
+            return answers;
+        return AnswerPayloadCodec.decode(payload);
+    }
 }
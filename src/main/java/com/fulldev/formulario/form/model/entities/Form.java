@@ -3,6 +3,8 @@ package com.fulldev.formulario.form.model.entities;
 import com.fulldev.formulario.security.domain.model.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -49,6 +51,14 @@ public class Form {
     @Column(nullable = false)
     private Boolean isPublished = false;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long contentVersion = 0;
+
+    // limite de respostas e visualizações públicas por minuto; nulo usa o padrão da aplicação
+    @Column(nullable = true)
+    private Integer rateLimitPerMinute;
+
     @OneToMany(mappedBy = "form", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Question> questions = new ArrayList<>();
 
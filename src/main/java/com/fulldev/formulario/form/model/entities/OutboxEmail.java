@@ -0,0 +1,68 @@
+package com.fulldev.formulario.form.model.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_email_outbox_dedup_key", columnList = "dedup_key, status"),
+        @Index(name = "idx_email_outbox_status_created_at", columnList = "status, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEmail {
+
+    public enum Status {
+        PENDING, SENT, FAILED, SUPERSEDED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, length = Length.LONG32)
+    private String body;
+
+    // mesmo destinatário e mesmo tipo de e-mail: enquanto houver um pendente, ele é atualizado em vez de duplicado
+    @Column(name = "dedup_key", nullable = false)
+    private String dedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public OutboxEmail(String recipient, String subject, String body, String dedupKey) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.dedupKey = dedupKey;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.fulldev.formulario.form.model.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "question_statistic")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionStatistic {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "form_id", nullable = false)
+    private Long formId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    // nulo na linha que conta quantas respostas preencheram a pergunta
+    @Column(name = "option_value")
+    private String optionValue;
+
+    @Column(nullable = false)
+    private long total = 0;
+}
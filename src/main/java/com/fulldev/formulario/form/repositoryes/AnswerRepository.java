@@ -2,12 +2,18 @@ package com.fulldev.formulario.form.repositoryes;
 
 import com.fulldev.formulario.form.model.entities.Form;
 import com.fulldev.formulario.form.model.entities.Answer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
+    @Transactional(readOnly = true)
     List<Answer> findByForm(Form form);
+
+    @Transactional(readOnly = true)
+    List<Answer> findByFormIdAndIdGreaterThanOrderByIdAsc(Long formId, Long afterId, Limit limit);
 }
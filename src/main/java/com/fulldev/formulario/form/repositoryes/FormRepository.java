@@ -1,15 +1,61 @@
 package com.fulldev.formulario.form.repositoryes;
 
+import com.fulldev.formulario.form.dto.FormSummaryDTO;
+import com.fulldev.formulario.form.dto.FormVersionDTO;
 import com.fulldev.formulario.form.model.entities.Form;
 import com.fulldev.formulario.security.domain.model.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FormRepository extends JpaRepository<Form, Long> {
+    // readOnly nas consultas só de leitura: fora de uma transação maior elas podem ir para a réplica.
+    // findByidPublic e findByIdAndCreatedBy ficam sem, porque a entidade lida costuma ser gravada em seguida
+    @Transactional(readOnly = true)
     List<Form> findByCreatedBy(String email);
+    @Transactional(readOnly = true)
     List<Form> findByCreatedByAndIsPublishedTrue(String createdBy);
     Form findByidPublic(String idPublic);
+
+    // consultas limitadas ao dono: a checagem de permissão vai junto com a busca
+    Optional<Form> findByIdAndCreatedBy(Long id, String createdBy);
+
+    @Transactional(readOnly = true)
+    boolean existsByIdAndCreatedBy(Long id, String createdBy);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.fulldev.formulario.form.dto.FormSummaryDTO(f.id, f.title, f.description, f.responsesCount, " +
+            "f.views, f.isPublished, f.link, f.idPublic, f.formHasLogin, f.createdAt) " +
+            "from Form f where f.createdBy = :createdBy order by f.createdAt desc")
+    List<FormSummaryDTO> findSummariesByCreatedBy(@Param("createdBy") String createdBy);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.fulldev.formulario.form.dto.FormSummaryDTO(f.id, f.title, f.description, f.responsesCount, " +
+            "f.views, f.isPublished, f.link, f.idPublic, f.formHasLogin, f.createdAt) " +
+            "from Form f where f.createdBy = :createdBy and f.isPublished = true order by f.createdAt desc")
+    List<FormSummaryDTO> findPublishedSummariesByCreatedBy(@Param("createdBy") String createdBy);
+
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "questions")
+    Optional<Form> findWithQuestionsByIdAndCreatedBy(Long id, String createdBy);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.fulldev.formulario.form.dto.FormVersionDTO(f.id, f.contentVersion, f.responsesCount, f.views) " +
+            "from Form f where f.id = :id and f.createdBy = :createdBy")
+    FormVersionDTO findVersionByIdAndCreatedBy(@Param("id") Long id, @Param("createdBy") String createdBy);
+
+    @Modifying
+    @Query("update Form f set f.responsesCount = f.responsesCount + :delta where f.id = :id")
+    int incrementResponsesCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("select f.responsesCount from Form f where f.id = :id")
+    int findResponsesCountById(@Param("id") Long id);
 }
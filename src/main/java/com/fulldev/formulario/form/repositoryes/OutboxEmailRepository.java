@@ -0,0 +1,34 @@
+package com.fulldev.formulario.form.repositoryes;
+
+import com.fulldev.formulario.form.model.entities.OutboxEmail;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+    Optional<OutboxEmail> findFirstByDedupKeyAndStatus(String dedupKey, OutboxEmail.Status status);
+
+    // FOR UPDATE: outra instância que tente o mesmo lote espera e reavalia next_attempt_at já adiado
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEmail e where e.status = com.fulldev.formulario.form.model.entities.OutboxEmail.Status.PENDING " +
+            "and e.nextAttemptAt <= :now order by e.nextAttemptAt, e.id")
+    List<OutboxEmail> findDue(@Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(OutboxEmail.Status status);
+
+    @Modifying
+    @Query("delete from OutboxEmail e where e.status in :statuses and e.createdAt < :before")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<OutboxEmail.Status> statuses,
+                                           @Param("before") Instant before);
+}
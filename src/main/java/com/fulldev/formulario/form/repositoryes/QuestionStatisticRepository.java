@@ -0,0 +1,21 @@
+package com.fulldev.formulario.form.repositoryes;
+
+import com.fulldev.formulario.form.model.entities.QuestionStatistic;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionStatisticRepository extends JpaRepository<QuestionStatistic, Long> {
+    List<QuestionStatistic> findByFormId(Long formId);
+
+    boolean existsByFormId(Long formId);
+
+    @Modifying
+    @Query("delete from QuestionStatistic s where s.formId = :formId")
+    void deleteByFormId(@Param("formId") Long formId);
+}
@@ -0,0 +1,222 @@
+package com.fulldev.formulario.form.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulldev.formulario.form.model.AnswerPayloadCodec;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.QuestionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class AnswerExportService {
+
+    // respostas no formato compacto não têm linhas em answer_details e chegam com o payload preenchido
+    private static final String EXPORT_SQL = "SELECT a.id, d.question_id, d.response, a.payload FROM answer a " +
+            "LEFT JOIN answer_details d ON d.answer_id = a.id " +
+            "WHERE a.form_id = ? ORDER BY a.id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final QuestionRepository questionRepository;
+    private final ObjectMapper objectMapper;
+
+    public AnswerExportService(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               QuestionRepository questionRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${api.forms.export.fetch-size:500}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        // o PostgreSQL só usa cursor com fetch size dentro de uma transação (autocommit desligado)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.questionRepository = questionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(Long formId, AnswerExportFormat format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            List<Question> questions = questionRepository.findByFormId(formId).stream()
+                    .sorted(Comparator.comparing(Question::getId))
+                    .toList();
+
+            try {
+                AnswerWriter writer = format == AnswerExportFormat.CSV
+                        ? new CsvAnswerWriter(out, questions)
+                        : new NdjsonAnswerWriter(out, objectMapper);
+
+                writer.writeHeader();
+                // o CSV só tem colunas para as perguntas atuais, então o payload decodifica apenas elas
+                Set<Long> questionIds = format == AnswerExportFormat.CSV
+                        ? questions.stream().map(Question::getId).collect(Collectors.toSet())
+                        : null;
+                GroupingRowHandler handler = new GroupingRowHandler(writer, questionIds);
+                streamingJdbcTemplate.query(EXPORT_SQL, handler, formId);
+                handler.finish();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private interface AnswerWriter {
+        void writeHeader() throws IOException;
+
+        void writeAnswer(long answerId, Map<Long, String> answers) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static class GroupingRowHandler implements RowCallbackHandler {
+
+        private final AnswerWriter writer;
+        private final Set<Long> questionIds;
+        private final Map<Long, String> current = new LinkedHashMap<>();
+        private long currentId = -1;
+
+        GroupingRowHandler(AnswerWriter writer, Set<Long> questionIds) {
+            this.writer = writer;
+            this.questionIds = questionIds;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long answerId = rs.getLong(1);
+            if (answerId != currentId) {
+                finish();
+                currentId = answerId;
+            }
+
+            long questionId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                current.put(questionId, rs.getString(3));
+                return;
+            }
+
+            byte[] payload = rs.getBytes(4);
+            if (payload != null)
+                current.putAll(AnswerPayloadCodec.decode(payload, questionIds));
+        }
+
+        void finish() {
+            if (currentId == -1)
+                return;
+
+            try {
+                writer.writeAnswer(currentId, current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current.clear();
+            currentId = -1;
+        }
+    }
+
+    private static class CsvAnswerWriter implements AnswerWriter {
+
+        private final Writer out;
+        private final List<Question> questions;
+
+        CsvAnswerWriter(OutputStream out, List<Question> questions) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.questions = questions;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            out.write("id");
+            for (Question question : questions) {
+                out.write(',');
+                writeField(question.getTitle());
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void writeAnswer(long answerId, Map<Long, String> answers) throws IOException {
+            out.write(Long.toString(answerId));
+            for (Question question : questions) {
+                out.write(',');
+                writeField(answers.get(question.getId()));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null)
+                return;
+
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    private static class NdjsonAnswerWriter implements AnswerWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonAnswerWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeAnswer(long answerId, Map<Long, String> answers) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", answerId);
+            generator.writeObjectFieldStart("answers");
+            for (Map.Entry<Long, String> entry : answers.entrySet()) {
+                generator.writeStringField(entry.getKey().toString(), entry.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.fulldev.formulario.form.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@ConditionalOnProperty(name = "api.forms.ingestion.enabled", havingValue = "true")
+public class AnswerIngestionQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerIngestionQueue.class);
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final FormService formService;
+    private final BlockingQueue<PendingAnswer> queue;
+    private final int batchSize;
+    private final long drainTimeoutMs;
+
+    private final Timer commitTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread worker;
+
+    public AnswerIngestionQueue(FormService formService,
+                                MeterRegistry meterRegistry,
+                                @Value("${api.forms.ingestion.capacity:10000}") int capacity,
+                                @Value("${api.forms.ingestion.batch-size:200}") int batchSize,
+                                @Value("${api.forms.ingestion.drain-timeout-ms:30000}") long drainTimeoutMs) {
+        this.formService = formService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.drainTimeoutMs = drainTimeoutMs;
+
+        Gauge.builder("forms.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Respostas aguardando gravação")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("forms.ingestion.commit")
+                .description("Tempo de gravação de um lote de respostas")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("forms.ingestion.batch.size")
+                .description("Respostas gravadas por commit")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("forms.ingestion.rejected")
+                .description("Respostas recusadas com a fila cheia")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("forms.ingestion.dropped")
+                .description("Respostas aceitas que não puderam ser gravadas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Coloca a resposta na fila e devolve o id do recibo, ou {@code null} se a fila estiver cheia
+     * ou a aplicação estiver encerrando.
+     */
+    public String offer(Long formId, Map<Long, String> answers) {
+        if (!accepting) {
+            rejectedCounter.increment();
+            return null;
+        }
+
+        String receiptId = UUID.randomUUID().toString();
+        if (!queue.offer(new PendingAnswer(receiptId, formId, answers))) {
+            rejectedCounter.increment();
+            return null;
+        }
+        return receiptId;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        running = true;
+        worker = new Thread(this::run, "answer-ingestion");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        try {
+            worker.join(drainTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive() || !queue.isEmpty())
+            log.error("Encerrando com {} respostas não gravadas na fila de ingestão", queue.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // para depois do servidor web (que para em DEFAULT_PHASE - 2048), quando nenhuma resposta nova chega mais
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<PendingAnswer> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            PendingAnswer first;
+            try {
+                first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null)
+                continue;
+
+            // tudo que chegou enquanto o commit anterior rodava entra no mesmo commit
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<PendingAnswer> batch) {
+        try {
+            persist(batch);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} respostas, gravando uma a uma", batch.size(), e);
+            for (PendingAnswer pending : batch) {
+                try {
+                    persist(List.of(pending));
+                } catch (RuntimeException single) {
+                    droppedCounter.increment();
+                    log.error("Resposta {} do formulário {} descartada", pending.receiptId(), pending.formId(), single);
+                }
+            }
+        }
+    }
+
+    private void persist(List<PendingAnswer> batch) {
+        Map<Long, List<Map<Long, String>>> answersByForm = new TreeMap<>();
+        for (PendingAnswer pending : batch) {
+            answersByForm.computeIfAbsent(pending.formId(), id -> new ArrayList<>()).add(pending.answers());
+        }
+
+        // os e-mails de marco são gravados no outbox dentro do mesmo commit do lote
+        Timer.Sample sample = Timer.start();
+        formService.registerAnswers(answersByForm);
+        sample.stop(commitTimer);
+        batchSizeSummary.record(batch.size());
+    }
+
+    private record PendingAnswer(String receiptId, Long formId, Map<Long, String> answers) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.model.AnswerPayloadCodec;
+import com.fulldev.formulario.form.model.entities.Answer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class AnswerStorage {
+
+    private final AnswerStorageMode mode;
+
+    public AnswerStorage(@Value("${api.forms.answers.storage:details}") String mode) {
+        this.mode = AnswerStorageMode.valueOf(mode.trim().toUpperCase());
+    }
+
+    public AnswerStorageMode getMode() {
+        return mode;
+    }
+
+    public void write(Answer answer, Map<Long, String> answers) {
+        if (mode == AnswerStorageMode.COMPACT) {
+            answer.setPayload(AnswerPayloadCodec.encode(answers));
+            return;
+        }
+        answer.setAnswers(new HashMap<>(answers));
+    }
+}
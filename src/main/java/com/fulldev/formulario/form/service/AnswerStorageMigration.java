@@ -0,0 +1,106 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.model.AnswerPayloadCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converte respostas gravadas em answer_details para o payload compacto, em lotes com commit próprio.
+ * Pode ser interrompida e executada de novo: cada lote só olha respostas que ainda não têm payload.
+ */
+@Service
+public class AnswerStorageMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerStorageMigration.class);
+
+    private static final String NEXT_CHUNK_SQL = "SELECT MAX(id) FROM (SELECT a.id FROM answer a " +
+            "WHERE a.payload IS NULL AND a.id > ? ORDER BY a.id LIMIT ?) chunk";
+    private static final String CHUNK_DETAILS_SQL = "SELECT d.answer_id, d.question_id, d.response FROM answer_details d " +
+            "JOIN answer a ON a.id = d.answer_id WHERE a.payload IS NULL AND d.answer_id > ? AND d.answer_id <= ?";
+    private static final String UPDATE_PAYLOAD_SQL = "UPDATE answer SET payload = ? WHERE id = ? AND payload IS NULL";
+    private static final String DELETE_DETAILS_SQL = "DELETE FROM answer_details WHERE answer_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AnswerStorage answerStorage;
+    private final int chunkSize;
+    private final boolean migrateOnStartup;
+
+    public AnswerStorageMigration(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  AnswerStorage answerStorage,
+                                  @Value("${api.forms.answers.migration.chunk-size:500}") int chunkSize,
+                                  @Value("${api.forms.answers.migration.on-startup:false}") boolean migrateOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.answerStorage = answerStorage;
+        this.chunkSize = chunkSize;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup || answerStorage.getMode() != AnswerStorageMode.COMPACT)
+            return;
+
+        Thread thread = new Thread(() -> {
+            try {
+                long migrated = migrate();
+                log.info("Migração de respostas para o formato compacto concluída: {} respostas", migrated);
+            } catch (RuntimeException e) {
+                log.error("Migração de respostas para o formato compacto interrompida", e);
+            }
+        }, "answer-storage-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public long migrate() {
+        long migrated = 0;
+        long lastId = 0;
+        while (true) {
+            Long upperId = jdbcTemplate.queryForObject(NEXT_CHUNK_SQL, Long.class, lastId, chunkSize);
+            if (upperId == null)
+                return migrated;
+
+            long from = lastId;
+            Integer converted = transactionTemplate.execute(status -> migrateChunk(from, upperId));
+            migrated += converted == null ? 0 : converted;
+            lastId = upperId;
+        }
+    }
+
+    private int migrateChunk(long afterId, long upperId) {
+        Map<Long, Map<Long, String>> answers = new LinkedHashMap<>();
+        jdbcTemplate.query(CHUNK_DETAILS_SQL, rs -> {
+            answers.computeIfAbsent(rs.getLong(1), id -> new HashMap<>()).put(rs.getLong(2), rs.getString(3));
+        }, afterId, upperId);
+
+        if (answers.isEmpty())
+            return 0;
+
+        List<Object[]> payloads = new ArrayList<>(answers.size());
+        List<Object[]> ids = new ArrayList<>(answers.size());
+        answers.forEach((answerId, responses) -> {
+            payloads.add(new Object[]{AnswerPayloadCodec.encode(responses), answerId});
+            ids.add(new Object[]{answerId});
+        });
+
+        jdbcTemplate.batchUpdate(UPDATE_PAYLOAD_SQL, payloads);
+        jdbcTemplate.batchUpdate(DELETE_DETAILS_SQL, ids);
+        return answers.size();
+    }
+}
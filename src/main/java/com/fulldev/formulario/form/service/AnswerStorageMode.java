@@ -0,0 +1,6 @@
+package com.fulldev.formulario.form.service;
+
+public enum AnswerStorageMode {
+    DETAILS,
+    COMPACT
+}
@@ -0,0 +1,287 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.model.entities.OutboxEmail;
+import com.fulldev.formulario.form.repositoryes.OutboxEmailRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Esvazia a {@code email_outbox} em lotes. Cada lote é dividido em até
+ * {@code api.email.outbox.connections} grupos e cada grupo vai numa única chamada a
+ * {@link JavaMailSender#send(MimeMessage...)}, que reaproveita a mesma conexão SMTP para todas as
+ * mensagens. Falhas voltam para a fila com backoff exponencial até {@code max-attempts}.
+ * Os e-mails enviados ou substituídos são apagados depois de {@code api.email.outbox.retention-ms}.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // FAILED fica para investigação; só o que já saiu ou foi trocado por um mais novo é descartado
+    private static final List<OutboxEmail.Status> PURGEABLE = List.of(OutboxEmail.Status.SENT, OutboxEmail.Status.SUPERSEDED);
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int connections;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+    private final long retentionMs;
+
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    public EmailOutboxDispatcher(OutboxEmailRepository outboxEmailRepository,
+                                 JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("emailTaskExecutor") Executor executor,
+                                 @Value("${api.email.outbox.enabled:true}") boolean enabled,
+                                 @Value("${api.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${api.email.outbox.connections:2}") int connections,
+                                 @Value("${api.email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${api.email.outbox.backoff-ms:30000}") long backoffMs,
+                                 @Value("${api.email.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                 @Value("${api.email.outbox.lease-ms:300000}") long leaseMs,
+                                 @Value("${api.email.outbox.retention-ms:604800000}") long retentionMs) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.connections = Math.max(1, connections);
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @Scheduled(fixedDelayString = "${api.email.outbox.poll-interval-ms:2000}")
+    public void scheduledDispatch() {
+        if (enabled)
+            dispatch();
+    }
+
+    @Scheduled(fixedDelayString = "${api.email.outbox.purge-interval-ms:3600000}")
+    public void scheduledPurge() {
+        if (enabled)
+            purge();
+    }
+
+    /**
+     * Apaga os e-mails enviados ou substituídos criados antes da janela de retenção e devolve quantos saíram.
+     */
+    public int purge() {
+        Instant before = Instant.now().minusMillis(retentionMs);
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEmailRepository.deleteByStatusInAndCreatedAtBefore(PURGEABLE, before));
+        if (purged != null && purged > 0)
+            log.info("{} e-mails antigos removidos da outbox", purged);
+        return purged == null ? 0 : purged;
+    }
+
+    /**
+     * Envia tudo o que está vencido, lote a lote, e devolve quantos e-mails foram entregues ao SMTP.
+     */
+    public int dispatch() {
+        if (!dispatchLock.tryLock())
+            return 0;
+        try {
+            int sent = 0;
+            while (true) {
+                List<PendingEmail> batch = claim();
+                if (batch.isEmpty())
+                    break;
+                sent += deliver(batch);
+                if (batch.size() < batchSize)
+                    break;
+            }
+            return sent;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * Reserva o próximo lote adiando {@code next_attempt_at} pelo tempo de lease: se a instância cair
+     * no meio do envio, os e-mails voltam sozinhos para a fila.
+     */
+    private List<PendingEmail> claim() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEmail> due = outboxEmailRepository.findDue(now, PageRequest.of(0, batchSize));
+
+            // duas inserções concorrentes podem escapar da deduplicação do EmailService; aqui só o mais novo sai
+            Map<String, OutboxEmail> latest = new LinkedHashMap<>();
+            for (OutboxEmail email : due) {
+                OutboxEmail kept = latest.get(email.getDedupKey());
+                if (kept == null) {
+                    latest.put(email.getDedupKey(), email);
+                } else if (kept.getId() < email.getId()) {
+                    kept.setStatus(OutboxEmail.Status.SUPERSEDED);
+                    latest.put(email.getDedupKey(), email);
+                } else {
+                    email.setStatus(OutboxEmail.Status.SUPERSEDED);
+                }
+            }
+
+            List<PendingEmail> claimed = new ArrayList<>(latest.size());
+            for (OutboxEmail email : latest.values()) {
+                email.setNextAttemptAt(now.plusMillis(leaseMs));
+                claimed.add(new PendingEmail(email.getId(), email.getRecipient(), email.getSubject(), email.getBody()));
+            }
+            return claimed;
+        });
+    }
+
+    private int deliver(List<PendingEmail> batch) {
+        int groups = Math.min(connections, batch.size());
+        List<CompletableFuture<Map<Long, Exception>>> futures = new ArrayList<>(groups);
+        for (int group = 0; group < groups; group++) {
+            List<PendingEmail> slice = new ArrayList<>();
+            for (int i = group; i < batch.size(); i += groups) {
+                slice.add(batch.get(i));
+            }
+            futures.add(sendAsync(slice));
+        }
+
+        Map<Long, Exception> failures = new HashMap<>();
+        for (CompletableFuture<Map<Long, Exception>> future : futures) {
+            failures.putAll(future.join());
+        }
+
+        record(batch, failures);
+        return batch.size() - failures.size();
+    }
+
+    private CompletableFuture<Map<Long, Exception>> sendAsync(List<PendingEmail> slice) {
+        try {
+            return CompletableFuture.supplyAsync(() -> send(slice), executor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(send(slice));
+        }
+    }
+
+    /**
+     * Envia o grupo numa única conexão e devolve as falhas por id da outbox.
+     */
+    private Map<Long, Exception> send(List<PendingEmail> slice) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, PendingEmail> messages = new IdentityHashMap<>();
+        for (PendingEmail email : slice) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+                helper.setTo(email.recipient());
+                helper.setSubject(email.subject());
+                helper.setText(email.body(), true);
+                messages.put(message, email);
+            } catch (MessagingException | MailException e) {
+                failures.put(email.id(), e);
+            }
+        }
+        if (messages.isEmpty())
+            return failures;
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> failures.put(email.id(), e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    PendingEmail email = messages.get(message);
+                    if (email != null)
+                        failures.put(email.id(), cause);
+                });
+            }
+        } catch (MailException e) {
+            // autenticação ou conexão: nada deste grupo saiu
+            messages.values().forEach(email -> failures.put(email.id(), e));
+        }
+        return failures;
+    }
+
+    private void record(List<PendingEmail> batch, Map<Long, Exception> failures) {
+        Map<Long, PendingEmail> sentContent = new HashMap<>();
+        batch.forEach(email -> sentContent.put(email.id(), email));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            for (OutboxEmail email : outboxEmailRepository.findAllById(sentContent.keySet())) {
+                Exception failure = failures.get(email.getId());
+                if (failure == null) {
+                    if (sentContent.get(email.getId()).sameContent(email)) {
+                        email.setStatus(OutboxEmail.Status.SENT);
+                        email.setSentAt(now);
+                        email.setLastError(null);
+                    } else {
+                        // o conteúdo mudou durante o envio (novo link): o mais recente sai na próxima rodada
+                        email.setNextAttemptAt(now);
+                    }
+                    continue;
+                }
+
+                email.setAttempts(email.getAttempts() + 1);
+                email.setLastError(truncate(failure.getMessage()));
+                if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus(OutboxEmail.Status.FAILED);
+                    log.error("E-mail {} para {} descartado após {} tentativas", email.getId(), email.getRecipient(), email.getAttempts(), failure);
+                } else {
+                    email.setNextAttemptAt(now.plusMillis(backoff(email.getAttempts())));
+                    log.warn("Falha ao enviar o e-mail {} (tentativa {}): {}", email.getId(), email.getAttempts(), failure.getMessage());
+                }
+            }
+        });
+    }
+
+    long backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(maxBackoffMs, backoffMs << shift);
+    }
+
+    private static String truncate(String message) {
+        if (message == null)
+            return null;
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record PendingEmail(Long id, String recipient, String subject, String body) {
+
+        boolean sameContent(OutboxEmail email) {
+            return subject.equals(email.getSubject()) && body.equals(email.getBody());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.fulldev.formulario.form.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template de e-mail já compilado em uma lista de trechos fixos e variáveis {@code {{nome}}}.
+ * Os valores das variáveis são escapados para HTML no mesmo passo em que são copiados para a saída.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // cada thread reaproveita o próprio buffer; acima deste tamanho ele é descartado para não ficar
+    // preso à thread depois de um e-mail muito grande
+    private static final int MAX_BUFFER_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String name;
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private EmailTemplate(String name, String[] literals, String[] variables) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compila o texto do template. Os trechos alternam: {@code literals[i]}, {@code variables[i]},
+     * ..., e o último trecho fixo fica em {@code literals[variables.length]}.
+     */
+    public static EmailTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0)
+                break;
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0)
+                throw new IllegalStateException("Variável sem fechamento no template " + name + " na posição " + open);
+
+            String variable = source.substring(open + OPEN.length(), close).trim();
+            if (variable.isEmpty())
+                throw new IllegalStateException("Variável vazia no template " + name + " na posição " + open);
+
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new EmailTemplate(name, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    public String render(Map<String, ?> model) {
+        // só a String final é alocada: o buffer da thread é limpo e reaproveitado a cada renderização
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(literalLength);
+        try {
+            for (int i = 0; i < variables.length; i++) {
+                out.append(literals[i]);
+                escapeHtml(valueOf(model, variables[i]), out);
+            }
+            out.append(literals[variables.length]);
+            return out.toString();
+        } finally {
+            if (out.capacity() > MAX_BUFFER_CAPACITY)
+                BUFFER.remove();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private String valueOf(Map<String, ?> model, String variable) {
+        Object value = model.get(variable);
+        if (value == null)
+            throw new IllegalArgumentException("Variável " + variable + " ausente ao renderizar o template " + name);
+        return value.toString();
+    }
+
+    /**
+     * Copia {@code value} para {@code out} escapando {@code & < > " '} numa única leitura: os trechos
+     * sem caracteres especiais são copiados em bloco.
+     */
+    static void escapeHtml(String value, StringBuilder out) {
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            String replacement;
+            switch (value.charAt(i)) {
+                case '&' -> replacement = "&amp;";
+                case '<' -> replacement = "&lt;";
+                case '>' -> replacement = "&gt;";
+                case '"' -> replacement = "&quot;";
+                case '\'' -> replacement = "&#39;";
+                default -> {
+                    continue;
+                }
+            }
+            out.append(value, start, i).append(replacement);
+            start = i + 1;
+        }
+        out.append(value, start, length);
+    }
+}
@@ -0,0 +1,91 @@
+package com.fulldev.formulario.form.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carrega e compila na inicialização os templates de {@code classpath:templates/email}. O arquivo
+ * {@code nome.html} está no idioma padrão ({@code api.email.templates.default-locale}); traduções
+ * ficam em {@code nome_en.html}, {@code nome_en_US.html} e assim por diante.
+ */
+@Service
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "classpath*:templates/email/*.html";
+    private static final String EXTENSION = ".html";
+    private static final int MAX_CACHED_LOCALES = 64;
+
+    private final Locale defaultLocale;
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+
+    // resolução nome + idioma -> template, feita uma vez por idioma que aparecer
+    private final Map<Locale, Map<String, EmailTemplate>> resolved = new ConcurrentHashMap<>();
+
+    public EmailTemplateEngine(@Value("${api.email.templates.default-locale:pt-BR}") String defaultLocale) {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+    }
+
+    @PostConstruct
+    public void load() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                String filename = resource.getFilename();
+                if (filename == null)
+                    continue;
+                String key = filename.substring(0, filename.length() - EXTENSION.length());
+                String source = resource.getContentAsString(StandardCharsets.UTF_8).stripTrailing();
+                templates.put(key, EmailTemplate.compile(key, source));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível carregar os templates de e-mail", e);
+        }
+    }
+
+    public String render(String name, Locale locale, Map<String, ?> model) {
+        return resolve(name, locale).render(model);
+    }
+
+    EmailTemplate resolve(String name, Locale locale) {
+        Locale target = locale != null ? locale : defaultLocale;
+        Map<String, EmailTemplate> byName = resolved.get(target);
+        if (byName == null) {
+            // o idioma vem do Accept-Language: acima do limite, resolve sem guardar
+            if (resolved.size() >= MAX_CACHED_LOCALES)
+                return lookup(name, target);
+            byName = resolved.computeIfAbsent(target, key -> new ConcurrentHashMap<>());
+        }
+        return byName.computeIfAbsent(name, key -> lookup(key, target));
+    }
+
+    private EmailTemplate lookup(String name, Locale locale) {
+        if (!locale.equals(defaultLocale)) {
+            if (!locale.getCountry().isEmpty()) {
+                EmailTemplate template = templates.get(name + "_" + locale.getLanguage() + "_" + locale.getCountry());
+                if (template != null)
+                    return template;
+            }
+            if (!locale.getLanguage().equals(defaultLocale.getLanguage())) {
+                EmailTemplate template = templates.get(name + "_" + locale.getLanguage());
+                if (template != null)
+                    return template;
+            }
+        }
+
+        EmailTemplate template = templates.get(name);
+        if (template == null)
+            throw new IllegalArgumentException("Template de e-mail não encontrado: " + name);
+        return template;
+    }
+}
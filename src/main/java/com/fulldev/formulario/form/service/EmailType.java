@@ -0,0 +1,41 @@
+package com.fulldev.formulario.form.service;
+
+import java.util.Map;
+
+/**
+ * Tipos de e-mail enviados pela aplicação. Cada tipo sabe o seu template, o assunto e quais campos
+ * do payload entram na chave de deduplicação além do destinatário.
+ */
+public enum EmailType {
+    VERIFICATION("verification", "Confirmação de Cadastro"),
+    VERIFIED("verified", "E-mail Verificado com Sucesso!"),
+    PASSWORD_RESET("password-reset", "Redefinição de Senha"),
+    // um e-mail por formulário e por marco atingido
+    RESPONSE_MILESTONE("response-milestone", "Atualização do Formulário: Respostas Recebidas", "formId", "count");
+
+    private final String template;
+    private final String subject;
+    private final String[] dedupFields;
+
+    EmailType(String template, String subject, String... dedupFields) {
+        this.template = template;
+        this.subject = subject;
+        this.dedupFields = dedupFields;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    String dedupKey(String to, Map<String, ?> payload) {
+        StringBuilder key = new StringBuilder(name()).append(':').append(to);
+        for (String field : dedupFields) {
+            key.append(':').append(payload.get(field));
+        }
+        return key.toString();
+    }
+}
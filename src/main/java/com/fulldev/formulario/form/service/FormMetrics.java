@@ -0,0 +1,56 @@
+package com.fulldev.formulario.form.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contador de envios de respostas por formulário ({@code forms.submissions}). Só os primeiros
+ * {@code api.metrics.forms.max-tagged} formulários vistos desde a subida ganham a própria série; os
+ * demais somam em {@code form="other"}. Assim um link público muito acessado, ou milhares de links
+ * diferentes, não criam séries sem limite no registry.
+ */
+@Component
+public class FormMetrics {
+
+    public static final String OTHER = "other";
+    public static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTaggedForms;
+    private final Set<Long> taggedForms = ConcurrentHashMap.newKeySet();
+    // o builder + register custa um lookup com alocação de tags a cada envio; o contador não muda
+    private final Map<SubmissionKey, Counter> submissionCounters = new ConcurrentHashMap<>();
+
+    public FormMetrics(MeterRegistry meterRegistry, @Value("${api.metrics.forms.max-tagged:500}") int maxTaggedForms) {
+        this.meterRegistry = meterRegistry;
+        this.maxTaggedForms = maxTaggedForms;
+    }
+
+    public void submission(Long formId, String outcome) {
+        submissionCounters.computeIfAbsent(new SubmissionKey(formTag(formId), outcome), key ->
+                Counter.builder("forms.submissions")
+                        .description("Envios de respostas por formulário e resultado")
+                        .tag("form", key.form())
+                        .tag("outcome", key.outcome())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    String formTag(Long formId) {
+        if (formId == null)
+            return UNKNOWN;
+        // o limite pode passar por poucas unidades com threads concorrentes; o que importa é não crescer sem fim
+        if (taggedForms.contains(formId) || (taggedForms.size() < maxTaggedForms && taggedForms.add(formId)))
+            return formId.toString();
+        return OTHER;
+    }
+
+    private record SubmissionKey(String form, String outcome) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Republica de uma vez todos os formulários publicados de um usuário com um novo tipo de login.
+ * Conjuntos pequenos são atualizados na própria requisição; acima de
+ * {@code api.forms.republish.async-threshold} o trabalho vira um job em segundo plano com progresso.
+ */
+@Service
+public class FormRepublishService {
+
+    private static final Logger log = LoggerFactory.getLogger(FormRepublishService.class);
+
+    private static final long FINISHED_JOB_RETENTION_MS = 60 * 60 * 1000;
+
+    private static final String PUBLISHED_FORMS_SQL =
+            "SELECT id, id_public FROM form WHERE created_by = ? AND is_published = true ORDER BY id";
+    private static final String REPUBLISH_SQL = "UPDATE form SET send_email_responses_count = ?, form_has_login = ?, " +
+            "link = ?, id_public = ?, content_version = content_version + 1 WHERE id = ?";
+    private static final String REPUBLISH_WITH_PASSWORD_SQL = "UPDATE form SET send_email_responses_count = ?, form_has_login = ?, " +
+            "access_password = ?, link = ?, id_public = ?, content_version = content_version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PublicFormCache publicFormCache;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int asyncThreshold;
+
+    private final Map<String, RepublishJob> jobs = new ConcurrentHashMap<>();
+
+    // último job de cada usuário; o compute garante um único job em andamento por usuário
+    private final Map<String, RepublishJob> latestJobByOwner = new ConcurrentHashMap<>();
+
+    public FormRepublishService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                PublicFormCache publicFormCache,
+                                @Qualifier("formRepublishExecutor") Executor executor,
+                                @Value("${api.forms.republish.chunk-size:500}") int chunkSize,
+                                @Value("${api.forms.republish.async-threshold:1000}") int asyncThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publicFormCache = publicFormCache;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.asyncThreshold = asyncThreshold;
+    }
+
+    /**
+     * Aplica as configurações padrão. Devolve o job quando o trabalho foi para segundo plano,
+     * ou vazio quando já foi concluído.
+     */
+    public Optional<RepublishJob> defaultFormSettings(String createdBy, String standard, String password, boolean sendEmail) {
+        FormHasLogin formHasLogin = Arrays.stream(FormHasLogin.values())
+                .filter(type -> type.getFormLoginType().equals(standard))
+                .findFirst()
+                .orElse(null);
+        if (formHasLogin == null)
+            return Optional.empty();
+
+        RepublishSettings settings = new RepublishSettings(formHasLogin, password, sendEmail);
+        List<PublishedForm> forms = jdbcTemplate.query(PUBLISHED_FORMS_SQL,
+                (rs, rowNum) -> new PublishedForm(rs.getLong(1), rs.getString(2)), createdBy);
+
+        if (forms.size() <= asyncThreshold) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < forms.size(); from += chunkSize) {
+                    republishChunk(forms.subList(from, Math.min(from + chunkSize, forms.size())), settings);
+                }
+            });
+            return Optional.empty();
+        }
+
+        purgeFinishedJobs();
+        RepublishJob created = new RepublishJob(UUID.randomUUID().toString(), createdBy, forms.size());
+        RepublishJob job = latestJobByOwner.compute(createdBy, (owner, current) ->
+                current != null && current.getStatus() == RepublishJob.Status.RUNNING ? current : created);
+        if (job != created)
+            return Optional.of(job);
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> runJob(job, forms, settings));
+        } catch (RejectedExecutionException e) {
+            // pool cheio: o job termina como falho para não bloquear o usuário com um RUNNING eterno
+            log.warn("Job de republicação de {} recusado pelo executor", createdBy);
+            job.fail("Muitas republicações em andamento, tente novamente em instantes.");
+        }
+        return Optional.of(job);
+    }
+
+    public Optional<RepublishJob> getJob(String jobId, String createdBy) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getCreatedBy().equals(createdBy));
+    }
+
+    private void runJob(RepublishJob job, List<PublishedForm> forms, RepublishSettings settings) {
+        try {
+            // um commit por lote: o progresso fica visível e nenhuma transação segura milhares de linhas
+            for (int from = 0; from < forms.size(); from += chunkSize) {
+                List<PublishedForm> chunk = forms.subList(from, Math.min(from + chunkSize, forms.size()));
+                transactionTemplate.executeWithoutResult(status -> republishChunk(chunk, settings));
+                job.advance(chunk.size());
+            }
+            job.complete();
+        } catch (RuntimeException e) {
+            log.error("Falha ao republicar formulários de {} no job {}", job.getCreatedBy(), job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void republishChunk(List<PublishedForm> chunk, RepublishSettings settings) {
+        boolean withPassword = settings.formHasLogin() == FormHasLogin.PASSWORD;
+        List<Object[]> rows = new ArrayList<>(chunk.size());
+        List<String> previousIds = new ArrayList<>(chunk.size());
+        for (PublishedForm form : chunk) {
+            String idPublic = UUID.randomUUID().toString();
+            String link = FormService.publicLink(settings.formHasLogin(), idPublic);
+            rows.add(withPassword
+                    ? new Object[]{settings.sendEmail(), settings.formHasLogin().name(), settings.password(), link, idPublic, form.id()}
+                    : new Object[]{settings.sendEmail(), settings.formHasLogin().name(), link, idPublic, form.id()});
+            if (form.idPublic() != null)
+                previousIds.add(form.idPublic());
+        }
+
+        jdbcTemplate.batchUpdate(withPassword ? REPUBLISH_WITH_PASSWORD_SQL : REPUBLISH_SQL, rows);
+        publicFormCache.evictAll(previousIds);
+    }
+
+    private void purgeFinishedJobs() {
+        long limit = System.currentTimeMillis() - FINISHED_JOB_RETENTION_MS;
+        jobs.values().removeIf(job -> job.getStatus() != RepublishJob.Status.RUNNING && job.getFinishedAt() < limit);
+        latestJobByOwner.values().removeIf(job -> job.getStatus() != RepublishJob.Status.RUNNING && job.getFinishedAt() < limit);
+    }
+
+    private record PublishedForm(long id, String idPublic) {
+    }
+
+    private record RepublishSettings(FormHasLogin formHasLogin, String password, boolean sendEmail) {
+    }
+}
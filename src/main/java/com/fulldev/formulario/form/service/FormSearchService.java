@@ -0,0 +1,213 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.dto.FormSearchHitDTO;
+import com.fulldev.formulario.form.dto.FormSearchPageDTO;
+import com.fulldev.formulario.form.model.entities.Answer;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Busca dos donos em títulos, descrições, perguntas e respostas abertas, sobre a tabela
+ * {@code search_entry}. O índice é atualizado na mesma transação que grava o formulário ou as
+ * respostas, então o que foi salvo já aparece na busca seguinte. No PostgreSQL usa a coluna
+ * {@code document} (tsvector + GIN) e ordena por {@code ts_rank}; em outros bancos (H2 nos testes)
+ * cada termo vira um LIKE e a ordem segue o peso do tipo de trecho.
+ */
+@Service
+public class FormSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(FormSearchService.class);
+
+    private static final int MAX_TERMS = 8;
+    private static final int MAX_CONTENT_LENGTH = 300;
+    // tamanho da coluna search_entry.content
+    private static final int MAX_INDEXED_LENGTH = 1000;
+
+    private static final String DELETE_FORM_ENTRIES_SQL =
+            "DELETE FROM search_entry WHERE form_id = ? AND kind IN ('TITLE', 'DESCRIPTION', 'QUESTION')";
+    // respostas de perguntas que saíram do formulário numa edição não devem continuar aparecendo
+    private static final String DELETE_ORPHAN_ANSWERS_SQL =
+            "DELETE FROM search_entry WHERE form_id = ? AND kind = 'ANSWER' " +
+            "AND question_id NOT IN (SELECT q.id FROM question q WHERE q.form_id = ?)";
+    private static final String INSERT_SQL =
+            "INSERT INTO search_entry (form_id, kind, question_id, answer_id, content) VALUES (?, ?, ?, ?, ?)";
+    private static final String OPTION_QUESTIONS_SQL =
+            "SELECT DISTINCT o.question_id FROM question_options o WHERE o.question_id IN (%s)";
+
+    private static final String TS_QUERY = "websearch_to_tsquery('portuguese', ?)";
+    private static final String TS_SEARCH_SQL =
+            "SELECT e.form_id, f.title AS form_title, e.kind, e.question_id, e.answer_id, e.content, " +
+            "ts_rank(e.document, q) AS score " +
+            "FROM search_entry e JOIN form f ON f.id = e.form_id, " + TS_QUERY + " q " +
+            "WHERE f.created_by = ? AND e.document @@ q " +
+            "ORDER BY score DESC, e.id DESC LIMIT ? OFFSET ?";
+    private static final String TS_COUNT_SQL =
+            "SELECT count(*) FROM search_entry e JOIN form f ON f.id = e.form_id " +
+            "WHERE f.created_by = ? AND e.document @@ " + TS_QUERY;
+
+    private static final String LIKE_RANK =
+            "CASE e.kind WHEN 'TITLE' THEN 1.0 WHEN 'DESCRIPTION' THEN 0.4 WHEN 'QUESTION' THEN 0.2 ELSE 0.1 END";
+
+    private static final RowMapper<FormSearchHitDTO> HIT_MAPPER = (rs, rowNum) -> new FormSearchHitDTO(
+            rs.getLong("form_id"),
+            rs.getString("form_title"),
+            rs.getString("kind"),
+            rs.getObject("question_id", Long.class),
+            rs.getObject("answer_id", Long.class),
+            abbreviate(rs.getString("content")),
+            rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean fullText;
+
+    public FormSearchService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Substitui título, descrição e perguntas do formulário no índice. As respostas continuam, menos
+     * as de perguntas removidas; as perguntas já precisam estar gravadas (saveAndFlush na edição).
+     */
+    @Transactional
+    public void indexForm(Form form) {
+        jdbcTemplate.update(DELETE_FORM_ENTRIES_SQL, form.getId());
+        jdbcTemplate.update(DELETE_ORPHAN_ANSWERS_SQL, form.getId(), form.getId());
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{form.getId(), "TITLE", null, null, form.getTitle()});
+        if (form.getDescription() != null && !form.getDescription().isBlank())
+            rows.add(new Object[]{form.getId(), "DESCRIPTION", null, null, form.getDescription()});
+        for (Question question : form.getQuestions()) {
+            String content = question.getQuestionDescription() == null
+                    ? question.getTitle()
+                    : question.getTitle() + " " + question.getQuestionDescription();
+            rows.add(new Object[]{form.getId(), "QUESTION", question.getId(), null, content});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Acrescenta ao índice as respostas abertas já persistidas (com id), de um ou vários formulários.
+     * {@code submissions.get(i)} traz o que foi respondido em {@code answers.get(i)}. Uma consulta
+     * descobre quais perguntas têm opções (essas não são texto livre e ficam de fora) e as demais
+     * entram num único lote de INSERT simples.
+     */
+    @Transactional
+    public void indexAnswers(List<Answer> answers, List<Map<Long, String>> submissions) {
+        Set<Long> questionIds = new HashSet<>();
+        for (Map<Long, String> submission : submissions)
+            submission.forEach((questionId, response) -> {
+                if (response != null && !response.isBlank())
+                    questionIds.add(questionId);
+            });
+        if (questionIds.isEmpty())
+            return;
+
+        Set<Long> optionQuestions = new HashSet<>(jdbcTemplate.queryForList(
+                String.format(OPTION_QUESTIONS_SQL, String.join(", ", Collections.nCopies(questionIds.size(), "?"))),
+                Long.class, questionIds.toArray()));
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < answers.size(); i++) {
+            Answer answer = answers.get(i);
+            submissions.get(i).forEach((questionId, response) -> {
+                if (response != null && !response.isBlank() && !optionQuestions.contains(questionId))
+                    rows.add(new Object[]{answer.getForm().getId(), "ANSWER", questionId, answer.getId(), truncate(response)});
+            });
+        }
+        if (!rows.isEmpty())
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Transactional(readOnly = true)
+    public FormSearchPageDTO search(String createdBy, String query, int page, int size) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty())
+            return new FormSearchPageDTO(query, page, size, 0, List.of());
+
+        // em long: page * size passa de Integer.MAX_VALUE nas páginas altas
+        long offset = (long) page * size;
+        if (isFullText()) {
+            String text = String.join(" ", terms);
+            Long total = jdbcTemplate.queryForObject(TS_COUNT_SQL, Long.class, createdBy, text);
+            List<FormSearchHitDTO> hits = total == null || total <= offset
+                    ? List.of()
+                    : jdbcTemplate.query(TS_SEARCH_SQL, HIT_MAPPER, text, createdBy, size, offset);
+            return new FormSearchPageDTO(query, page, size, total == null ? 0 : total, hits);
+        }
+
+        StringBuilder where = new StringBuilder("WHERE f.created_by = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(createdBy);
+        for (String term : terms) {
+            where.append(" AND LOWER(e.content) LIKE ? ESCAPE '\\'");
+            args.add("%" + escapeLike(term) + "%");
+        }
+        String from = " FROM search_entry e JOIN form f ON f.id = e.form_id ";
+
+        Long total = jdbcTemplate.queryForObject("SELECT count(*)" + from + where, Long.class, args.toArray());
+        List<FormSearchHitDTO> hits = List.of();
+        if (total != null && total > offset) {
+            args.add(size);
+            args.add(offset);
+            hits = jdbcTemplate.query("SELECT e.form_id, f.title AS form_title, e.kind, e.question_id, e.answer_id, " +
+                    "e.content, " + LIKE_RANK + " AS score" + from + where + " ORDER BY score DESC, e.id DESC LIMIT ? OFFSET ?",
+                    HIT_MAPPER, args.toArray());
+        }
+        return new FormSearchPageDTO(query, page, size, total == null ? 0 : total, hits);
+    }
+
+    private boolean isFullText() {
+        Boolean current = fullText;
+        if (current == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            current = "PostgreSQL".equalsIgnoreCase(product);
+            if (!current)
+                log.info("Busca de formulários com LIKE: {} não tem a coluna tsvector", product);
+            fullText = current;
+        }
+        return current;
+    }
+
+    static List<String> terms(String query) {
+        if (query == null)
+            return List.of();
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String truncate(String content) {
+        return content.length() <= MAX_INDEXED_LENGTH ? content : content.substring(0, MAX_INDEXED_LENGTH);
+    }
+
+    private static String abbreviate(String content) {
+        if (content == null || content.length() <= MAX_CONTENT_LENGTH)
+            return content;
+        return content.substring(0, MAX_CONTENT_LENGTH) + "…";
+    }
+}
@@ -1,38 +1,123 @@
 package com.fulldev.formulario.form.service;
 
+import com.fulldev.formulario.form.dto.AnswerDTO;
 import com.fulldev.formulario.form.dto.FormDTO;
+import com.fulldev.formulario.form.dto.FormDetailDTO;
+import com.fulldev.formulario.form.dto.FormSummaryDTO;
 import com.fulldev.formulario.form.dto.QuestionDTO;
+import com.fulldev.formulario.form.model.entities.Answer;
 import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
 import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.AnswerRepository;
 import com.fulldev.formulario.form.repositoryes.FormRepository;
 import com.fulldev.formulario.form.repositoryes.QuestionRepository;
-import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
 
 @Service
 public class FormService {
 
+    private static final String BASE_URL = "https://fulldev-seven.vercel.app/form/preview?";
+
     private final FormRepository formRepository;
 
     private final QuestionRepository questionRepository;
 
-    public FormService(FormRepository formRepository, QuestionRepository questionRepository) {
+    private final AnswerRepository answerRepository;
+
+    private final PublicFormCache publicFormCache;
+
+    private final FormStatisticsService formStatisticsService;
+
+    private final AnswerStorage answerStorage;
+
+    private final FormSearchService formSearchService;
+
+    private final ResponseMilestoneNotifier responseMilestoneNotifier;
+
+    public FormService(FormRepository formRepository, QuestionRepository questionRepository, AnswerRepository answerRepository,
+                       PublicFormCache publicFormCache, FormStatisticsService formStatisticsService, AnswerStorage answerStorage,
+                       FormSearchService formSearchService, ResponseMilestoneNotifier responseMilestoneNotifier) {
         this.formRepository = formRepository;
         this.questionRepository = questionRepository;
+        this.answerRepository = answerRepository;
+        this.publicFormCache = publicFormCache;
+        this.formStatisticsService = formStatisticsService;
+        this.answerStorage = answerStorage;
+        this.formSearchService = formSearchService;
+        this.responseMilestoneNotifier = responseMilestoneNotifier;
     }
 
-    public Form updateForm(Long id, FormDTO formDTO) {
-        Form form = formRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Não foi encontrado nenhum formulário com o id: " + id));
+    static String publicLink(FormHasLogin formHasLogin, String idPublic) {
+        return BASE_URL + "logintype=" + formHasLogin.getFormLoginType() + "&form=" + idPublic;
+    }
 
+    @Transactional
+    public Form createForm(FormDTO formDTO, String createdBy) {
+        Form form = new Form();
         form.setTitle(formDTO.title());
         form.setDescription(formDTO.description());
+        form.setCreatedBy(createdBy);
+        form.setIsPublished(false);
+        form.setRateLimitPerMinute(formDTO.rateLimitPerMinute());
+
+        for (QuestionDTO questionDTO : formDTO.questions()) {
+            Question question = new Question();
+            question.setForm(form);
+            question.setTitle(questionDTO.title());
+            question.setOptions(questionDTO.options());
+            question.setType(questionDTO.type());
+            question.setRequired(questionDTO.required());
+            question.setQuestionDescription(questionDTO.questionDescription());
+            form.getQuestions().add(question);
+        }
+
+        // as perguntas e suas opções são inseridas em lote no flush do commit
+        formRepository.save(form);
+        formStatisticsService.initialize(form.getId(), form.getQuestions());
+        formSearchService.indexForm(form);
+        return form;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FormSummaryDTO> getFormSummaries(String createdBy) {
+        return formRepository.findSummariesByCreatedBy(createdBy);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FormSummaryDTO> getPublishedFormSummaries(String createdBy) {
+        return formRepository.findPublishedSummariesByCreatedBy(createdBy);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FormDetailDTO> getFormDetail(Long id, String createdBy) {
+        return formRepository.findWithQuestionsByIdAndCreatedBy(id, createdBy)
+                .map(FormDetailDTO::from);
+    }
+
+    /**
+     * Atualiza o formulário se ele pertencer a {@code createdBy}; vazio quando não existe ou é de outro usuário.
+     */
+    @Transactional
+    public Optional<Form> updateForm(Long id, String createdBy, FormDTO formDTO) {
+        Form form = formRepository.findByIdAndCreatedBy(id, createdBy).orElse(null);
+        if (form == null)
+            return Optional.empty();
+
+        form.setTitle(formDTO.title());
+        form.setDescription(formDTO.description());
+        form.setRateLimitPerMinute(formDTO.rateLimitPerMinute());
+        form.setContentVersion(form.getContentVersion() + 1);
 
         form.getQuestions().clear();
         for (QuestionDTO questionDTO : formDTO.questions()) {
@@ -46,14 +131,103 @@ public class FormService {
             form.getQuestions().add(question);
         }
 
-        return formRepository.save(form);
+        publicFormCache.evict(form.getIdPublic());
+        Form updatedForm = formRepository.saveAndFlush(form);
+        formStatisticsService.initialize(updatedForm.getId(), updatedForm.getQuestions());
+        formSearchService.indexForm(updatedForm);
+        return Optional.of(updatedForm);
+    }
+
+    @Transactional
+    public String publishForm(Form form) {
+        publicFormCache.evict(form.getIdPublic());
+
+        String idPublic = UUID.randomUUID().toString();
+        String link = publicLink(form.getFormHasLogin(), idPublic);
+
+        form.setIsPublished(true);
+        form.setLink(link);
+        form.setIdPublic(idPublic);
+        form.setContentVersion(form.getContentVersion() + 1);
+        formRepository.save(form);
+        return link;
+    }
+
+    @Transactional
+    public int registerAnswer(Form form, List<AnswerDTO> answersDTO) {
+        Map<Long, String> answers = AnswerDTO.toAnswerMap(answersDTO);
+        if (answers == null)
+            throw new IllegalArgumentException("Respostas inválidas.");
+        return registerAnswer(form, answers);
+    }
+
+    @Transactional
+    public int registerAnswer(Form form, Map<Long, String> answers) {
+        Answer answer = new Answer();
+        answer.setForm(form);
+        answerStorage.write(answer, answers);
+        answerRepository.save(answer);
+        formSearchService.indexAnswers(List.of(answer), List.of(answers));
+
+        // o UPDATE trava a linha do formulário até o commit, então a leitura seguinte
+        // devolve exatamente o total produzido por esta resposta
+        formRepository.incrementResponsesCount(form.getId(), 1);
+        formStatisticsService.record(answers);
+        int responsesCount = formRepository.findResponsesCountById(form.getId());
+        // o e-mail de marco entra no outbox nesta mesma transação: ou a resposta e o aviso são gravados, ou nenhum
+        responseMilestoneNotifier.notify(form, responsesCount, 1);
+        return responsesCount;
+    }
+
+    @Transactional
+    public Map<Long, Integer> registerAnswers(Map<Long, List<Map<Long, String>>> answersByForm) {
+        Map<Long, List<Answer>> answersByFormId = new TreeMap<>();
+        Map<Long, Form> forms = new TreeMap<>();
+        answersByForm.forEach((formId, submissions) -> {
+            Form form = formRepository.getReferenceById(formId);
+            forms.put(formId, form);
+            List<Answer> answers = answersByFormId.computeIfAbsent(formId, id -> new ArrayList<>());
+            for (Map<Long, String> submission : submissions) {
+                Answer answer = new Answer();
+                answer.setForm(form);
+                answerStorage.write(answer, submission);
+                answers.add(answer);
+            }
+        });
+        List<Answer> saved = answersByFormId.values().stream().flatMap(List::stream).toList();
+        answerRepository.saveAll(saved);
+        // um lote só para todos os formulários, na mesma ordem das respostas gravadas
+        formSearchService.indexAnswers(saved, answersByFormId.keySet().stream()
+                .flatMap(formId -> answersByForm.get(formId).stream())
+                .toList());
+
+        // um UPDATE por formulário com o total do lote, em ordem de id para que lotes concorrentes
+        // travem as linhas na mesma ordem
+        Map<Long, Integer> responsesCount = new TreeMap<>();
+        new TreeMap<>(answersByForm).forEach((formId, submissions) -> {
+            formRepository.incrementResponsesCount(formId, submissions.size());
+            int count = formRepository.findResponsesCountById(formId);
+            responsesCount.put(formId, count);
+            // só carrega o formulário (título e dono) quando o lote cruza um marco
+            if (ResponseMilestoneNotifier.crossesMilestone(count, submissions.size()))
+                responseMilestoneNotifier.notify(forms.get(formId), count, submissions.size());
+        });
+        formStatisticsService.record(answersByForm.values().stream().flatMap(List::stream).toList());
+        return responsesCount;
     }
 
-    public ResponseEntity deleteFormById(long id){
-        Form form = formRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Formulário não encontrado com o id: "+id));
+    /**
+     * Remove o formulário se ele pertencer a {@code createdBy}; devolve {@code false} caso contrário.
+     */
+    @Transactional
+    public boolean deleteFormById(long id, String createdBy){
+        Form form = formRepository.findByIdAndCreatedBy(id, createdBy).orElse(null);
+        if (form == null)
+            return false;
+        publicFormCache.evict(form.getIdPublic());
+        formStatisticsService.clear(form.getId());
         formRepository.delete(form);
-        return ResponseEntity.ok().body("Formulário deletado com sucesso");
+        return true;
     }
 
 
@@ -0,0 +1,194 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.dto.FormStatisticsDTO;
+import com.fulldev.formulario.form.dto.QuestionStatisticsDTO;
+import com.fulldev.formulario.form.model.AnswerPayloadCodec;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.model.entities.QuestionStatistic;
+import com.fulldev.formulario.form.repositoryes.QuestionRepository;
+import com.fulldev.formulario.form.repositoryes.QuestionStatisticRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+@Service
+public class FormStatisticsService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO question_statistic (form_id, question_id, option_value, total) VALUES (?, ?, ?, 0)";
+    private static final String INCREMENT_ANSWERED_SQL =
+            "UPDATE question_statistic SET total = total + ? WHERE question_id = ? AND option_value IS NULL";
+    private static final String INCREMENT_OPTION_SQL =
+            "UPDATE question_statistic SET total = total + ? WHERE question_id = ? AND option_value = ?";
+    private static final String LOCK_FORM_SQL = "SELECT id FROM form WHERE id = ? FOR UPDATE";
+    private static final String REBUILD_SCAN_SQL = "SELECT d.question_id, d.response FROM answer_details d " +
+            "JOIN answer a ON a.id = d.answer_id WHERE a.form_id = ?";
+    private static final String REBUILD_PAYLOAD_SCAN_SQL =
+            "SELECT a.payload FROM answer a WHERE a.form_id = ? AND a.payload IS NOT NULL";
+
+    private final QuestionStatisticRepository statisticRepository;
+    private final QuestionRepository questionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public FormStatisticsService(QuestionStatisticRepository statisticRepository,
+                                 QuestionRepository questionRepository,
+                                 JdbcTemplate jdbcTemplate) {
+        this.statisticRepository = statisticRepository;
+        this.questionRepository = questionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public void initialize(Long formId, List<Question> questions) {
+        statisticRepository.deleteByFormId(formId);
+
+        // inseridas via JDBC para não deixar entidades com total zerado no contexto de persistência
+        List<Object[]> rows = new ArrayList<>();
+        for (Question question : questions) {
+            rows.add(new Object[]{formId, question.getId(), null});
+            if (question.getOptions() == null)
+                continue;
+            question.getOptions().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(option -> rows.add(new Object[]{formId, question.getId(), option}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Transactional
+    public void clear(Long formId) {
+        statisticRepository.deleteByFormId(formId);
+    }
+
+    @Transactional
+    public void record(Collection<Map<Long, String>> submissions) {
+        // as chaves ficam ordenadas para que transações concorrentes travem as linhas na mesma ordem
+        Map<Long, Long> answered = new TreeMap<>();
+        Map<Long, Map<String, Long>> options = new TreeMap<>();
+        for (Map<Long, String> answers : submissions) {
+            answers.forEach((questionId, response) -> {
+                if (questionId == null || response == null || response.isBlank())
+                    return;
+                answered.merge(questionId, 1L, Long::sum);
+                options.computeIfAbsent(questionId, id -> new TreeMap<>()).merge(response, 1L, Long::sum);
+            });
+        }
+
+        if (answered.isEmpty())
+            return;
+
+        List<Object[]> answeredArgs = new ArrayList<>();
+        answered.forEach((questionId, delta) -> answeredArgs.add(new Object[]{delta, questionId}));
+        jdbcTemplate.batchUpdate(INCREMENT_ANSWERED_SQL, answeredArgs);
+
+        // respostas que não correspondem a uma opção (perguntas abertas) não atualizam nenhuma linha
+        List<Object[]> optionArgs = new ArrayList<>();
+        options.forEach((questionId, counts) ->
+                counts.forEach((option, delta) -> optionArgs.add(new Object[]{delta, questionId, option})));
+        jdbcTemplate.batchUpdate(INCREMENT_OPTION_SQL, optionArgs);
+    }
+
+    public void record(Map<Long, String> answers) {
+        record(List.of(answers));
+    }
+
+    @Transactional
+    public void rebuild(Long formId) {
+        // quem grava respostas trava a linha do formulário (incrementResponsesCount) antes do record() e só
+        // solta no commit; com a mesma trava aqui, o recálculo espera os envios em andamento e os seguintes
+        // só incrementam depois dele, sem perder nem contar duas vezes
+        jdbcTemplate.queryForList(LOCK_FORM_SQL, Long.class, formId);
+
+        List<Question> questions = questionRepository.findByFormId(formId);
+        initialize(formId, questions);
+
+        Map<Long, Long> answered = new HashMap<>();
+        Map<Long, Map<String, Long>> options = new HashMap<>();
+        for (Question question : questions) {
+            Map<String, Long> counts = new HashMap<>();
+            if (question.getOptions() != null)
+                question.getOptions().stream().filter(Objects::nonNull).forEach(option -> counts.put(option, 0L));
+            options.put(question.getId(), counts);
+        }
+
+        BiConsumer<Long, String> count = (questionId, response) -> {
+            Map<String, Long> counts = options.get(questionId);
+            if (counts == null || response == null || response.isBlank())
+                return;
+            answered.merge(questionId, 1L, Long::sum);
+            counts.computeIfPresent(response, (option, total) -> total + 1);
+        };
+
+        jdbcTemplate.query(REBUILD_SCAN_SQL, rs -> {
+            count.accept(rs.getLong(1), rs.getString(2));
+        }, formId);
+
+        // respostas no formato compacto: decodifica apenas as perguntas que ainda existem no formulário
+        Set<Long> questionIds = options.keySet();
+        jdbcTemplate.query(REBUILD_PAYLOAD_SCAN_SQL, rs -> {
+            AnswerPayloadCodec.decode(rs.getBytes(1), questionIds).forEach(count);
+        }, formId);
+
+        List<Object[]> answeredArgs = new ArrayList<>();
+        answered.forEach((questionId, total) -> answeredArgs.add(new Object[]{total, questionId}));
+        jdbcTemplate.batchUpdate(INCREMENT_ANSWERED_SQL, answeredArgs);
+
+        List<Object[]> optionArgs = new ArrayList<>();
+        options.forEach((questionId, counts) -> counts.forEach((option, total) -> {
+            if (total > 0)
+                optionArgs.add(new Object[]{total, questionId, option});
+        }));
+        jdbcTemplate.batchUpdate(INCREMENT_OPTION_SQL, optionArgs);
+    }
+
+    @Transactional
+    public FormStatisticsDTO getStatistics(Form form) {
+        List<Question> questions = questionRepository.findByFormId(form.getId()).stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .toList();
+        if (!questions.isEmpty() && !statisticRepository.existsByFormId(form.getId()))
+            rebuild(form.getId());
+
+        Map<Long, Long> answered = new HashMap<>();
+        Map<Long, Map<String, Long>> options = new HashMap<>();
+        for (QuestionStatistic statistic : statisticRepository.findByFormId(form.getId())) {
+            if (statistic.getOptionValue() == null)
+                answered.put(statistic.getQuestionId(), statistic.getTotal());
+            else
+                options.computeIfAbsent(statistic.getQuestionId(), id -> new HashMap<>())
+                        .put(statistic.getOptionValue(), statistic.getTotal());
+        }
+
+        int responses = form.getResponsesCount();
+        List<QuestionStatisticsDTO> result = new ArrayList<>();
+        for (Question question : questions) {
+            long answeredCount = answered.getOrDefault(question.getId(), 0L);
+            Map<String, Long> optionCounts = new LinkedHashMap<>();
+            Map<String, Long> stored = options.getOrDefault(question.getId(), Map.of());
+            if (question.getOptions() != null)
+                question.getOptions().stream()
+                        .filter(Objects::nonNull)
+                        .forEach(option -> optionCounts.put(option, stored.getOrDefault(option, 0L)));
+
+            double fillRate = responses == 0 ? 0 : (double) answeredCount / responses;
+            result.add(new QuestionStatisticsDTO(question.getId(), question.getTitle(), question.getType(),
+                    answeredCount, fillRate, optionCounts));
+        }
+
+        return new FormStatisticsDTO(form.getId(), responses, result);
+    }
+}
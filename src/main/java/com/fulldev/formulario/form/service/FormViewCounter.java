@@ -0,0 +1,96 @@
+package com.fulldev.formulario.form.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class FormViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(FormViewCounter.class);
+
+    private static final String FLUSH_SQL = "UPDATE form SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    // ReentrantLock em vez de synchronized: com virtual threads o agendador roda em uma delas, e um
+    // synchronized em volta da chamada JDBC prenderia a carrier thread no Java 21
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public FormViewCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(Long formId) {
+        add(formId, 1);
+    }
+
+    private void add(Long formId, long delta) {
+        LongAdder adder = pendingViews.computeIfAbsent(formId, id -> new LongAdder());
+        adder.add(delta);
+        // o flush pode ter removido este adder entre o computeIfAbsent e o add: o que ficou nele
+        // volta para o adder atual do mapa
+        if (pendingViews.get(formId) != adder) {
+            long orphan = adder.sumThenReset();
+            if (orphan != 0)
+                add(formId, orphan);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.forms.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta == 0) {
+                // sem visualizações desde o último flush: o formulário sai do mapa. Um increment que
+                // pegou este adder antes da remoção é recolhido aqui ou pelo próprio add
+                if (!pendingViews.remove(entry.getKey(), adder))
+                    continue;
+                delta = adder.sumThenReset();
+                if (delta == 0)
+                    continue;
+            }
+            batch.add(new Object[]{delta, entry.getKey()});
+        }
+
+        if (batch.isEmpty())
+            return;
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar {} contadores de visualização, os deltas serão reenviados", batch.size(), e);
+            for (Object[] row : batch) {
+                add((Long) row[1], (Long) row[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
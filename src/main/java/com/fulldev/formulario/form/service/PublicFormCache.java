@@ -0,0 +1,210 @@
+package com.fulldev.formulario.form.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulldev.formulario.form.dto.PublicFormDTO;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class PublicFormCache {
+
+    private final FormRepository formRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate loadTransaction;
+    private final long maxBytes;
+    private final int maxEntries;
+    private final long missingTtlNanos;
+
+    private static final int GENERATION_STRIPES = 1024;
+    private static final int MISSING_ENTRY_OVERHEAD = 64;
+
+    // leituras sem trava; inserções e remoções mantêm a ordem de inserção sob o lock
+    private final Map<String, PublicFormSnapshot> snapshots = new ConcurrentHashMap<>();
+    // ids que não existem, com o instante (nanoTime) em que deixam de valer: ids inventados não vão
+    // ao banco a cada requisição. Dividem a mesma ordem de inserção e os mesmos limites dos snapshots
+    private final Map<String, Long> missing = new ConcurrentHashMap<>();
+    private final LinkedHashSet<String> insertionOrder = new LinkedHashSet<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    // cada evict avança a geração da faixa do id; uma carga iniciada antes dele não é guardada
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public PublicFormCache(FormRepository formRepository,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${api.forms.public-cache.max-bytes:33554432}") long maxBytes,
+                           @Value("${api.forms.public-cache.max-entries:10000}") int maxEntries,
+                           @Value("${api.forms.public-cache.missing-ttl-ms:5000}") long missingTtlMs) {
+        this.formRepository = formRepository;
+        this.objectMapper = objectMapper;
+        // sem readOnly de propósito: com réplica de leitura, uma falta logo depois de um evict leria da
+        // réplica atrasada e guardaria o formulário antigo até o próximo evict
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.maxBytes = maxBytes;
+        this.maxEntries = maxEntries;
+        this.missingTtlNanos = TimeUnit.MILLISECONDS.toNanos(missingTtlMs);
+    }
+
+    public PublicFormSnapshot get(String idPublic) {
+        PublicFormSnapshot snapshot = snapshots.get(idPublic);
+        if (snapshot != null)
+            return snapshot;
+        Long missingUntil = missing.get(idPublic);
+        if (missingUntil != null && missingUntil - System.nanoTime() > 0)
+            return null;
+
+        long generation = generations.get(stripe(idPublic));
+        snapshot = loadTransaction.execute(status -> load(idPublic));
+        if (snapshot != null)
+            put(snapshot, generation);
+        else
+            putMissing(idPublic, generation);
+        return snapshot;
+    }
+
+    public void evict(String idPublic) {
+        if (idPublic == null)
+            return;
+
+        invalidate(idPublic);
+        // um leitor concorrente pode recarregar o estado antigo antes do commit,
+        // então a entrada é invalidada de novo quando a transação terminar
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(idPublic);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<String> idsPublic) {
+        idsPublic.forEach(this::evict);
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    public int size() {
+        return snapshots.size() + missing.size();
+    }
+
+    private PublicFormSnapshot load(String idPublic) {
+        Form form = formRepository.findByidPublic(idPublic);
+        if (form == null)
+            return null;
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(PublicFormDTO.from(form));
+            return new PublicFormSnapshot(form.getId(), form.getIdPublic(), form.getContentVersion(), form.getFormHasLogin(),
+                    Boolean.TRUE.equals(form.getIsPublished()), form.getAccessPassword(), form.getRateLimitPerMinute(), json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar o formulário " + idPublic, e);
+        }
+    }
+
+    private void put(PublicFormSnapshot snapshot, long generation) {
+        if (snapshot.weight() > maxBytes)
+            return;
+
+        lock.lock();
+        try {
+            // houve evict desde o início da carga: o snapshot pode ser anterior ao commit
+            if (generations.get(stripe(snapshot.idPublic())) != generation)
+                return;
+
+            remove(snapshot.idPublic());
+            snapshots.put(snapshot.idPublic(), snapshot);
+            usedBytes.addAndGet(snapshot.weight());
+            insertionOrder.add(snapshot.idPublic());
+            trim();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putMissing(String idPublic, long generation) {
+        if (missingTtlNanos <= 0 || missingWeight(idPublic) > maxBytes)
+            return;
+
+        lock.lock();
+        try {
+            if (generations.get(stripe(idPublic)) != generation)
+                return;
+
+            remove(idPublic);
+            missing.put(idPublic, System.nanoTime() + missingTtlNanos);
+            usedBytes.addAndGet(missingWeight(idPublic));
+            insertionOrder.add(idPublic);
+            trim();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void invalidate(String idPublic) {
+        lock.lock();
+        try {
+            generations.incrementAndGet(stripe(idPublic));
+            remove(idPublic);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Descarta as entradas mais antigas até caber nos limites. Chamado com o lock.
+     */
+    private void trim() {
+        Iterator<String> eldest = insertionOrder.iterator();
+        while ((usedBytes.get() > maxBytes || size() > maxEntries) && eldest.hasNext()) {
+            String idPublic = eldest.next();
+            eldest.remove();
+            release(idPublic);
+        }
+    }
+
+    /**
+     * Tira o id do cache, seja snapshot ou id inexistente. Chamado com o lock.
+     */
+    private void remove(String idPublic) {
+        insertionOrder.remove(idPublic);
+        release(idPublic);
+    }
+
+    private void release(String idPublic) {
+        PublicFormSnapshot removed = snapshots.remove(idPublic);
+        if (removed != null)
+            usedBytes.addAndGet(-removed.weight());
+        if (missing.remove(idPublic) != null)
+            usedBytes.addAndGet(-missingWeight(idPublic));
+    }
+
+    private static long missingWeight(String idPublic) {
+        return 2L * idPublic.length() + MISSING_ENTRY_OVERHEAD;
+    }
+
+    private static int stripe(String idPublic) {
+        return (idPublic.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+}
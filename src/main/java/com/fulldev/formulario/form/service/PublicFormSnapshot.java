@@ -0,0 +1,17 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
+
+public record PublicFormSnapshot(Long formId, String idPublic, long contentVersion, FormHasLogin formHasLogin,
+                                 boolean published, String accessPassword, Integer rateLimitPerMinute, byte[] json) {
+
+    private static final int ENTRY_OVERHEAD = 128;
+
+    public String etag() {
+        return "\"" + formId + "-" + contentVersion + "\"";
+    }
+
+    public long weight() {
+        return json.length + 2L * idPublic.length() + ENTRY_OVERHEAD;
+    }
+}
@@ -0,0 +1,63 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.dto.RepublishJobDTO;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RepublishJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final String createdBy;
+    private final int total;
+    private final AtomicInteger processed = new AtomicInteger();
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+    private volatile long finishedAt;
+
+    RepublishJob(String id, String createdBy, int total) {
+        this.id = id;
+        this.createdBy = createdBy;
+        this.total = total;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    long getFinishedAt() {
+        return finishedAt;
+    }
+
+    void advance(int forms) {
+        processed.addAndGet(forms);
+    }
+
+    void complete() {
+        finishedAt = System.currentTimeMillis();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finishedAt = System.currentTimeMillis();
+        status = Status.FAILED;
+    }
+
+    public RepublishJobDTO toDTO() {
+        return new RepublishJobDTO(id, status.name(), total, processed.get(), error);
+    }
+}
@@ -0,0 +1,35 @@
+package com.fulldev.formulario.form.service;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class ResponseMilestoneNotifier {
+
+    private static final int MILESTONE = 10;
+
+    private final EmailService emailService;
+
+    public ResponseMilestoneNotifier(EmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    public static boolean crossesMilestone(int responsesCount, int delta) {
+        return delta > 0 && responsesCount / MILESTONE > (responsesCount - delta) / MILESTONE;
+    }
+
+    public void notify(Form form, int responsesCount, int delta) {
+        if (!form.isSendEmailResponsesCount() || !crossesMilestone(responsesCount, delta))
+            return;
+
+        // um lote pode cruzar mais de um marco, cada marco gera o seu e-mail
+        int previous = responsesCount - delta;
+        for (int milestone = (previous / MILESTONE + 1) * MILESTONE; milestone <= responsesCount; milestone += MILESTONE) {
+            emailService.send(EmailType.RESPONSE_MILESTONE, form.getCreatedBy(),
+                    Map.of("title", Objects.toString(form.getTitle(), ""), "count", milestone, "formId", form.getId()));
+        }
+    }
+}
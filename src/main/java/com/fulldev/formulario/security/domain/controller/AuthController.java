@@ -8,20 +8,24 @@ import com.fulldev.formulario.security.domain.dto.LoginResponseDTO;
 import com.fulldev.formulario.security.domain.dto.RegisterDTO;
 import com.fulldev.formulario.security.domain.model.entity.User;
 import com.fulldev.formulario.security.domain.repository.UserRepository;
-import com.fulldev.formulario.form.service.EmailService;
+import com.fulldev.formulario.security.domain.service.AuthenticatedUserCache;
+import com.fulldev.formulario.security.domain.service.OneTimeTokens;
+import com.fulldev.formulario.security.domain.service.RequestUserResolver;
 import com.fulldev.formulario.security.domain.service.UserService;
+import com.fulldev.formulario.security.infra.config.PasswordHashingRejectedException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("auth")
@@ -37,10 +41,19 @@ public class AuthController {
     private TokenService tokenService;
 
     @Autowired
-    private EmailService emailService;
+    private UserService userService;
 
     @Autowired
-    private UserService userService;
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Autowired
+    private RequestUserResolver requestUserResolver;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${api.security.password.retry-after-seconds:1}")
+    private int passwordRetryAfterSeconds;
 
     @PostMapping("/login")
     public ResponseEntity login(@RequestBody @Valid AuthDTO authDTO) {
@@ -49,7 +62,7 @@ public class AuthController {
             if (authDTO.email() == null || !userService.passwordisValid(authDTO.password()))
                 return ResponseEntity.status(403).body("Não foi possível realizar o login do usuário. Existe algum campo obrigatório nulo, vazio ou inválido.");
 
-            User user = (User) userRepository.findByEmail(authDTO.email());
+            User user = requestUserResolver.findByEmail(authDTO.email());
 
             if (user == null)
                 return ResponseEntity.status(403).body("Não existe nehuma conta com esse endereço de email. faça o cadastro e depois volte para o login.");
@@ -63,6 +76,8 @@ public class AuthController {
             var token = tokenService.generateToken((User) auth.getPrincipal());
 
             return ResponseEntity.ok(new LoginResponseDTO(token));
+        } catch (PasswordHashingRejectedException e) {
+            return passwordHashingBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(403).body("Login falhou: " + e.getMessage());
         }
@@ -72,25 +87,27 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity register(@RequestBody @Valid RegisterDTO registerDTO) {
         try {
-            if (this.userRepository.findByEmail(registerDTO.email()) != null)
+            User existing = requestUserResolver.findByEmail(registerDTO.email());
+            if (existing != null) {
+                String verificationToken = OneTimeTokens.generate();
+                if (userService.reissueVerification(existing, verificationToken, verificationLink(verificationToken)))
+                    return ResponseEntity.ok("O link anterior expirou. Enviamos um novo link de verificação para o seu e-mail.");
                 return ResponseEntity.badRequest().body("Esse email já está em uso.");
+            }
 
             if (registerDTO.email() == null || !userService.passwordisValid(registerDTO.password()))
                 return ResponseEntity.status(403).body("Não foi possível realizar o registro do usuário. Existe algum campo obrigatório nulo, vazio ou inválido.");
 
-            String encryptedPassword = new BCryptPasswordEncoder().encode(registerDTO.password());
+            String encryptedPassword = passwordEncoder.encode(registerDTO.password());
 
             User user = new User(registerDTO.email(), encryptedPassword, UserRole.ADMIN);
 
-            String verificationToken = java.util.UUID.randomUUID().toString();
-            user.setVerificationToken(verificationToken);
-
-            String verificationLink = "https://fulldev-seven.vercel.app/verify?token=" + verificationToken;
-            emailService.sendVerificationEmail(user.getUsername(), "Confirmação de Cadastro", verificationLink);
-
-            this.userRepository.save(user);
+            String verificationToken = OneTimeTokens.generate();
+            userService.register(user, verificationToken, verificationLink(verificationToken));
 
             return ResponseEntity.ok("Usuário registrado. Verifique seu e-mail para ativar sua conta.");
+        } catch (PasswordHashingRejectedException e) {
+            return passwordHashingBusy(e);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -99,16 +116,8 @@ public class AuthController {
 
     @GetMapping("/verify")
     public ResponseEntity verifyUser(@RequestParam String token) {
-        User user = userRepository.findByVerificationToken(token);
-
-        if (user == null) {
+        if (userService.verify(token).isEmpty())
             return ResponseEntity.badRequest().body("Token inválido.");
-        }
-
-        user.setVerified(true);
-        user.setVerificationToken(null);
-        emailService.sendVerificationEmail(user.getUsername(), "E-mail Verificado com Sucesso!", null);
-        userRepository.save(user);
 
         return ResponseEntity.ok("Conta verificada com sucesso.");
     }
@@ -119,18 +128,10 @@ public class AuthController {
         if (email == null || email.isEmpty())
             return ResponseEntity.badRequest().body("O campo email é obrigatório.");
 
-        if (userRepository.findByEmail(email) == null)
-            return ResponseEntity.badRequest().body("Não existe um usuário cadastrado com este e-mail.");
-
-        User user = (User) userRepository.findByEmail(email);
-
-        String resetToken = UUID.randomUUID().toString();
-        user.setResetToken(resetToken);
-
+        String resetToken = OneTimeTokens.generate();
         String resetLink = "https://fulldev-seven.vercel.app/reset-password?token=" + resetToken;
-        emailService.sendPasswordResetEmail(user.getEmail(), "Redefinição de Senha", resetLink);
-
-        userRepository.save(user);
+        if (userService.requestPasswordReset(email, resetToken, resetLink).isEmpty())
+            return ResponseEntity.badRequest().body("Não existe um usuário cadastrado com este e-mail.");
 
         return ResponseEntity.ok("Instruções para redefinir sua senha foram enviadas ao seu e-mail.");
     }
@@ -144,37 +145,46 @@ public class AuthController {
         String token = request.get("token");
         String newPassword = request.get("password");
 
-        User user = userRepository.findByResetToken(token);
-
-        if (user == null) {
-            return ResponseEntity.badRequest().body("Token inválido ou expirado.");
-        }
-
         if (!userService.passwordisValid(newPassword)) {
             return ResponseEntity.badRequest().body("A senha não atende aos critérios de segurança.");
         }
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(newPassword);
-        user.setPassword(encryptedPassword);
-        user.setResetToken(null);
+        String encryptedPassword;
+        try {
+            encryptedPassword = passwordEncoder.encode(newPassword);
+        } catch (PasswordHashingRejectedException e) {
+            return passwordHashingBusy(e);
+        }
+        User user = userService.resetPassword(token, encryptedPassword).orElse(null);
+        if (user == null) {
+            return ResponseEntity.badRequest().body("Token inválido ou expirado.");
+        }
 
-        userRepository.save(user);
+        authenticatedUserCache.invalidate(user.getEmail());
 
         return ResponseEntity.ok("Senha redefinida com sucesso.");
     }
 
-
-
     @DeleteMapping(path = {"/delete/{id}"})
     public ResponseEntity delete(@PathVariable String id, Principal principal){
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null)
+            return ResponseEntity.notFound().build();
         if(!(user.getEmail().equals(principal.getName())))
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("você não possui permissão para deletar esse usuário");
 
-        return userRepository.findById(id)
-                .map(record -> {userRepository.deleteById(id);
-                    return ResponseEntity.ok().body(record);
-                }).orElse(ResponseEntity.notFound().build());
+        userRepository.delete(user);
+        authenticatedUserCache.invalidate(user.getEmail());
+        return ResponseEntity.ok(user);
+    }
+
+    private static String verificationLink(String verificationToken) {
+        return "https://fulldev-seven.vercel.app/verify?token=" + verificationToken;
+    }
+
+    private ResponseEntity<String> passwordHashingBusy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordRetryAfterSeconds))
+                .body(e.getMessage());
     }
 }
@@ -9,6 +9,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -38,10 +39,15 @@ public class User implements UserDetails {
 
     private boolean verified = false;
 
+    // SHA-256 do token enviado por e-mail (ver OneTimeTokens)
     private String verificationToken;
 
+    private Instant verificationTokenExpiresAt;
+
     private String resetToken;
 
+    private Instant resetTokenExpiresAt;
+
     @OneToMany(mappedBy = "createdBy", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Form> forms = new ArrayList<>();
 
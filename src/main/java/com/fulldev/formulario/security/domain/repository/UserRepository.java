@@ -2,9 +2,13 @@ package com.fulldev.formulario.security.domain.repository;
 
 import com.fulldev.formulario.security.domain.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,13 @@ public interface UserRepository extends JpaRepository<User, String> {
     UserDetails findByEmail(String email);
     User findByVerificationToken(String token);
     User findByResetToken(String token);
+
+    @Modifying
+    @Query("update users u set u.verificationToken = null, u.verificationTokenExpiresAt = null " +
+            "where u.verificationTokenExpiresAt < :now")
+    int clearExpiredVerificationTokens(@Param("now") Instant now);
+
+    @Modifying
+    @Query("update users u set u.resetToken = null, u.resetTokenExpiresAt = null where u.resetTokenExpiresAt < :now")
+    int clearExpiredResetTokens(@Param("now") Instant now);
 }
@@ -0,0 +1,125 @@
+package com.fulldev.formulario.security.domain.service;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token JWT -> usuário autenticado, para não consultar o banco a cada requisição. Guarda só uma visão
+ * imutável do usuário (id, e-mail, papel) e devolve uma cópia nova em cada {@link #get}, então nada do
+ * que uma requisição altera no objeto vaza para as outras.
+ */
+@Service
+public class AuthenticatedUserCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    // ordem de inserção: com o mapa cheio sai o token mais antigo
+    private final Map<String, Entry> principals;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // avança a cada invalidate; um put com usuário lido antes disso é descartado
+    private long generation;
+
+    public AuthenticatedUserCache(@Value("${api.security.token-cache.ttl-seconds:300}") long ttlSeconds,
+                                  @Value("${api.security.token-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.principals = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthenticatedUserCache.this.maxEntries;
+            }
+        };
+    }
+
+    public User get(String token) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = principals.get(token);
+            if (entry == null)
+                return null;
+            if (entry.expiresAt() <= System.currentTimeMillis()) {
+                principals.remove(token);
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entry.toUser();
+    }
+
+    /**
+     * Geração atual, lida antes de buscar o usuário no banco e devolvida ao {@link #put}.
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String token, User user, Instant tokenExpiresAt, long generation) {
+        if (maxEntries <= 0 || ttlMillis <= 0)
+            return;
+
+        // a entrada nunca vive mais que o próprio token, senão um token vencido continuaria autenticando
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        if (tokenExpiresAt != null)
+            expiresAt = Math.min(expiresAt, tokenExpiresAt.toEpochMilli());
+        Entry entry = new Entry(user.getId(), user.getEmail(), user.getRole(), user.isVerified(), expiresAt);
+
+        lock.lock();
+        try {
+            // um invalidate aconteceu enquanto o usuário era lido: o que foi lido pode ser o estado antigo
+            if (generation != this.generation)
+                return;
+            principals.put(token, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String username) {
+        if (username == null)
+            return;
+
+        lock.lock();
+        try {
+            generation++;
+            // invalidação é rara (exclusão de conta, troca de senha), então a varredura completa é aceitável
+            principals.values().removeIf(entry -> username.equals(entry.email()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return principals.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(String id, String email, UserRole role, boolean verified, long expiresAt) {
+
+        User toUser() {
+            User user = new User(email, null, role);
+            user.setId(id);
+            user.setVerified(verified);
+            return user;
+        }
+    }
+}
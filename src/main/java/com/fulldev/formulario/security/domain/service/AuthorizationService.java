@@ -1,19 +1,42 @@
 package com.fulldev.formulario.security.domain.service;
 
+import com.fulldev.formulario.security.domain.model.entity.User;
 import com.fulldev.formulario.security.domain.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AuthorizationService implements UserDetailsService {
+public class AuthorizationService implements UserDetailsService, UserDetailsPasswordService {
+
+    @Autowired
+    RequestUserResolver requestUserResolver;
 
     @Autowired
     UserRepository userRepository;
+
+    @Autowired
+    AuthenticatedUserCache authenticatedUserCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email);
+        // no login o AuthController já buscou este usuário na mesma requisição
+        return requestUserResolver.findByEmail(email);
+    }
+
+    /**
+     * Chamado pelo DaoAuthenticationProvider depois de um login com hash antigo ou de custo menor
+     * que {@code api.security.password.bcrypt-strength}; a senha chega já codificada.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        authenticatedUserCache.invalidate(user.getEmail());
+        return user;
     }
 }
@@ -0,0 +1,30 @@
+package com.fulldev.formulario.security.domain.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Tokens de verificação e de redefinição de senha. Só o link enviado por e-mail leva o token; no
+ * banco fica o SHA-256 dele, buscado pelo índice único da coluna.
+ */
+public final class OneTimeTokens {
+
+    private OneTimeTokens() {
+    }
+
+    public static String generate() {
+        return UUID.randomUUID().toString();
+    }
+
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fulldev.formulario.security.domain.service;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Busca usuários por e-mail no máximo uma vez por requisição: o resultado (inclusive "não existe")
+ * fica nos atributos da requisição e é reaproveitado pelo controller, pelo
+ * {@link AuthorizationService} e pelo SecurityFilter. Fora de uma requisição consulta direto.
+ */
+@Component
+public class RequestUserResolver {
+
+    private static final String ATTRIBUTE = RequestUserResolver.class.getName() + ".users";
+
+    private final UserRepository userRepository;
+
+    public RequestUserResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public User findByEmail(String email) {
+        Map<String, Optional<User>> users = requestUsers();
+        if (users == null)
+            return (User) userRepository.findByEmail(email);
+        return users.computeIfAbsent(email, key -> Optional.ofNullable((User) userRepository.findByEmail(key))).orElse(null);
+    }
+
+    /**
+     * Registra um usuário recém-gravado para que o resto da requisição não precise buscá-lo.
+     */
+    public void remember(User user) {
+        Map<String, Optional<User>> users = requestUsers();
+        if (users != null)
+            users.put(user.getEmail(), Optional.of(user));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Optional<User>> requestUsers() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null)
+            return null;
+        Map<String, Optional<User>> users = (Map<String, Optional<User>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (users == null) {
+            users = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, users, RequestAttributes.SCOPE_REQUEST);
+        }
+        return users;
+    }
+}
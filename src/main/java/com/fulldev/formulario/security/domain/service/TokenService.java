@@ -5,8 +5,13 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
 import com.fulldev.formulario.security.domain.model.entity.User;
 import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.time.Instant;
@@ -16,14 +21,37 @@ import java.time.ZoneOffset;
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "fulldev-formulario";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validTokens;
+
+    private Timer invalidTokens;
+
+    @PostConstruct
+    void init() {
+        // Algorithm e JWTVerifier são imutáveis e thread-safe, então são criados uma única vez
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        validTokens = verifyTimer("valid");
+        invalidTokens = verifyTimer("invalid");
+    }
+
     public String generateToken(User user){
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT.create()
-                    .withIssuer("fulldev-formulario")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
                     .withExpiresAt(genExpirationDate())
                     .sign(algorithm);
@@ -34,19 +62,28 @@ public class TokenService {
     }
 
     public String validantionToken(String token){
-        try {
+        return verify(token).getSubject();
+    }
 
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("fulldev-formulario")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+    public DecodedJWT verify(String token){
+        Timer.Sample sample = Timer.start();
+        try {
+            DecodedJWT jwt = verifier.verify(token);
+            sample.stop(validTokens);
+            return jwt;
         } catch (JWTVerificationException e) {
+            sample.stop(invalidTokens);
             throw new RuntimeException("Token inválido: "+e);
         }
     }
 
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("security.jwt.verify")
+                .description("Tempo de verificação da assinatura e das claims do JWT")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private Instant genExpirationDate(){
         return LocalDateTime.now()
                 .plusHours(5)
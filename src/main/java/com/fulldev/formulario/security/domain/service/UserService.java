@@ -1,19 +1,43 @@
 package com.fulldev.formulario.security.domain.service;
 
+import com.fulldev.formulario.form.service.EmailService;
+import com.fulldev.formulario.form.service.EmailType;
 import com.fulldev.formulario.security.domain.model.entity.User;
 import com.fulldev.formulario.security.domain.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private RequestUserResolver requestUserResolver;
+
+    @Value("${api.security.tokens.verification-ttl-hours:168}")
+    private long verificationTtlHours;
+
+    @Value("${api.security.tokens.reset-ttl-minutes:60}")
+    private long resetTtlMinutes;
+
     public UserDetails findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -22,6 +46,89 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    // o usuário e o e-mail na outbox são gravados na mesma transação: nenhum dos dois existe sem o outro
+    @Transactional
+    public User register(User user, String verificationToken, String verificationLink) {
+        issueVerificationToken(user, verificationToken);
+        User saved = userRepository.save(user);
+        requestUserResolver.remember(saved);
+        emailService.send(EmailType.VERIFICATION, saved.getEmail(), Map.of("link", verificationLink));
+        return saved;
+    }
+
+    /**
+     * Envia um novo link a quem se cadastrou e deixou o anterior expirar. Enquanto o link atual
+     * valer, ou se a conta já foi verificada, não faz nada e devolve false.
+     */
+    @Transactional
+    public boolean reissueVerification(User user, String verificationToken, String verificationLink) {
+        if (user.isVerified() || !isExpired(user.getVerificationToken(), user.getVerificationTokenExpiresAt()))
+            return false;
+
+        issueVerificationToken(user, verificationToken);
+        userRepository.save(user);
+        emailService.send(EmailType.VERIFICATION, user.getEmail(), Map.of("link", verificationLink));
+        return true;
+    }
+
+    @Transactional
+    public Optional<User> verify(String verificationToken) {
+        User user = userRepository.findByVerificationToken(OneTimeTokens.hash(verificationToken));
+        if (user == null || isExpired(user.getVerificationToken(), user.getVerificationTokenExpiresAt()))
+            return Optional.empty();
+
+        user.setVerified(true);
+        user.setVerificationToken(null);
+        user.setVerificationTokenExpiresAt(null);
+        emailService.send(EmailType.VERIFIED, user.getEmail(), Map.of());
+        return Optional.of(user);
+    }
+
+    @Transactional
+    public Optional<User> requestPasswordReset(String email, String resetToken, String resetLink) {
+        User user = requestUserResolver.findByEmail(email);
+        if (user == null)
+            return Optional.empty();
+
+        user.setResetToken(OneTimeTokens.hash(resetToken));
+        user.setResetTokenExpiresAt(Instant.now().plus(Duration.ofMinutes(resetTtlMinutes)));
+        userRepository.save(user);
+        emailService.send(EmailType.PASSWORD_RESET, user.getEmail(), Map.of("link", resetLink));
+        return Optional.of(user);
+    }
+
+    @Transactional
+    public Optional<User> resetPassword(String resetToken, String encryptedPassword) {
+        User user = userRepository.findByResetToken(OneTimeTokens.hash(resetToken));
+        if (user == null || isExpired(user.getResetToken(), user.getResetTokenExpiresAt()))
+            return Optional.empty();
+
+        user.setPassword(encryptedPassword);
+        user.setResetToken(null);
+        user.setResetTokenExpiresAt(null);
+        return Optional.of(user);
+    }
+
+    // tokens expirados continuam no banco até aqui; verify e resetPassword já os recusam antes disso
+    @Scheduled(fixedDelayString = "${api.security.tokens.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpiredTokens() {
+        Instant now = Instant.now();
+        int verification = userRepository.clearExpiredVerificationTokens(now);
+        int reset = userRepository.clearExpiredResetTokens(now);
+        if (verification + reset > 0)
+            log.info("Tokens expirados removidos: {} de verificação, {} de redefinição de senha", verification, reset);
+    }
+
+    private void issueVerificationToken(User user, String verificationToken) {
+        user.setVerificationToken(OneTimeTokens.hash(verificationToken));
+        user.setVerificationTokenExpiresAt(Instant.now().plus(Duration.ofHours(verificationTtlHours)));
+    }
+
+    private static boolean isExpired(String token, Instant expiresAt) {
+        return token == null || (expiresAt != null && expiresAt.isBefore(Instant.now()));
+    }
+
     public boolean passwordisValid(String password){
         if (password == null || password.isEmpty()){
             return false;
@@ -1,21 +1,73 @@
 package com.fulldev.formulario.security.infra.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class AsyncConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
     @Bean(name = "emailTaskExecutor")
-    public Executor emailTaskExecutor(){
+    public Executor emailTaskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                      @Value("${api.email.virtual-threads.concurrency-limit:100}") int concurrencyLimit,
+                                      MeterRegistry meterRegistry){
+        // o perfil virtual-threads num runtime Java 17 cai para o pool de threads comum, como o Tomcat do Boot faz
+        if (virtualThreads && Runtime.version().feature() < 21)
+            log.warn("spring.threads.virtual.enabled requer Java 21, mas o runtime é {}; e-mails usam o pool de threads",
+                    Runtime.version());
+        else if (virtualThreads) {
+            // uma virtual thread por conexão do EmailOutboxDispatcher: um SMTP lento não enche fila nem
+            // rejeita envios. O limite protege o servidor SMTP; acima dele quem envia espera
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Email-Async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrencyLimit);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("Email-Async");
+        executor.setRejectedExecutionHandler(countingAbortPolicy("emailTaskExecutor", meterRegistry));
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "formRepublishExecutor")
+    public Executor formRepublishExecutor(MeterRegistry meterRegistry){
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("Form-Republish");
+        executor.setRejectedExecutionHandler(countingAbortPolicy("formRepublishExecutor", meterRegistry));
         executor.initialize();
         return executor;
     }
+
+    // fila e threads ativas já são publicadas pelo actuator (executor.*); falta só contar as recusas
+    private static RejectedExecutionHandler countingAbortPolicy(String name, MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("executor.tasks.rejected")
+                .description("Tarefas recusadas com a fila do executor cheia")
+                .tag("name", name)
+                .register(meterRegistry);
+        RejectedExecutionHandler abort = new ThreadPoolExecutor.AbortPolicy();
+        return (task, executor) -> {
+            rejected.increment();
+            abort.rejectedExecution(task, executor);
+        };
+    }
 }
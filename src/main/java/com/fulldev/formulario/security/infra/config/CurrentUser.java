@@ -0,0 +1,18 @@
+package com.fulldev.formulario.security.infra.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injeta no parâmetro do controller o {@code User} já autenticado nesta requisição.
+ * Com {@code required = false} o parâmetro recebe {@code null} quando não há usuário.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+    boolean required() default true;
+}
@@ -0,0 +1,58 @@
+package com.fulldev.formulario.security.infra.config;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.service.RequestUserResolver;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolve parâmetros {@link CurrentUser}. Com JWT o SecurityFilter já colocou o {@link User} no
+ * contexto de segurança e nenhuma consulta é feita; com OAuth2 o usuário é buscado pelo e-mail do
+ * provedor uma única vez por requisição.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final RequestUserResolver requestUserResolver;
+
+    public CurrentUserArgumentResolver(RequestUserResolver requestUserResolver) {
+        this.requestUserResolver = requestUserResolver;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class) && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        User user = currentUser();
+        if (user == null && parameter.getParameterAnnotation(CurrentUser.class).required())
+            throw new AuthenticationCredentialsNotFoundException("Usuário autenticado não encontrado");
+        return user;
+    }
+
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated())
+            return null;
+
+        if (authentication.getPrincipal() instanceof User user)
+            return user;
+
+        if (authentication instanceof OAuth2AuthenticationToken oAuth2Token) {
+            String email = oAuth2Token.getPrincipal().getAttribute("email");
+            return email != null ? requestUserResolver.findByEmail(email) : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.fulldev.formulario.security.infra.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconhece as requisições que chegaram pela porta de gerenciamento ({@code management.server.port}).
+ * O Boot aplica o mesmo filtro de segurança nas duas portas, então as regras do actuator dependem de
+ * por onde a requisição entrou, e não só do caminho. Sem porta de gerenciamento própria nada casa.
+ */
+@Component
+public class ManagementPortRequestMatcher implements RequestMatcher, ApplicationListener<WebServerInitializedEvent> {
+
+    private volatile int managementPort = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        // o servidor de gerenciamento sobe num contexto filho; o evento também chega a este contexto
+        if ("management".equals(event.getApplicationContext().getServerNamespace()))
+            managementPort = event.getWebServer().getPort();
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return request.getLocalPort() == managementPort;
+    }
+}
@@ -10,6 +10,8 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +27,8 @@ import java.util.UUID;
 @Component
 public class OtherLoginSuccessHandler extends SavedRequestAwareAuthenticationSuccessHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(OtherLoginSuccessHandler.class);
+
     private final TokenService tokenService;
     private final UserRepository userRepository;
 
@@ -42,7 +46,7 @@ public class OtherLoginSuccessHandler extends SavedRequestAwareAuthenticationSuc
 
         User user = (User) userRepository.findByEmail(email);
         if (user == null) {
-            System.out.println("usuário era nullo");
+            log.info("Primeiro login via OAuth2, criando a conta");
             user = new User(email, UUID.randomUUID().toString(), UserRole.ADMIN);
             user.setVerified(true);
             userRepository.save(user);
@@ -0,0 +1,11 @@
+package com.fulldev.formulario.security.infra.config;
+
+/**
+ * O pool de hash de senhas está com a fila cheia. Os controllers respondem 503 com {@code Retry-After}.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException() {
+        super("Muitas operações de senha em andamento, tente novamente em instantes.");
+    }
+}
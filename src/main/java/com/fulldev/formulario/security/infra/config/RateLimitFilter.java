@@ -0,0 +1,119 @@
+package com.fulldev.formulario.security.infra.config;
+
+import com.fulldev.formulario.form.service.PublicFormCache;
+import com.fulldev.formulario.form.service.PublicFormSnapshot;
+import com.fulldev.formulario.security.infra.ratelimit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita as rotas públicas de formulário (visualização e envio de respostas) por IP do cliente e
+ * por formulário. O IP é conferido primeiro para que ids inventados não cheguem ao banco, e os que
+ * passam ficam alguns segundos como inexistentes no {@link PublicFormCache}.
+ * O IP vem de {@code getRemoteAddr}; atrás de proxy use {@code server.forward-headers-strategy}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String FORMS_PREFIX = "/api/forms/";
+    private static final String PUBLIC_PREFIX = FORMS_PREFIX + "public/";
+    private static final String ANSWERS_SUFFIX = "/answers";
+
+    private final PublicFormCache publicFormCache;
+    private final boolean enabled;
+    private final int formPermitsPerMinute;
+    private final int formBurst;
+    private final int ipPermitsPerMinute;
+    private final int ipBurst;
+    private final RateLimiter formLimiter;
+    private final RateLimiter ipLimiter;
+
+    public RateLimitFilter(PublicFormCache publicFormCache,
+                           @Value("${api.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${api.rate-limit.form.per-minute:600}") int formPermitsPerMinute,
+                           @Value("${api.rate-limit.form.burst:100}") int formBurst,
+                           @Value("${api.rate-limit.ip.per-minute:120}") int ipPermitsPerMinute,
+                           @Value("${api.rate-limit.ip.burst:30}") int ipBurst,
+                           @Value("${api.rate-limit.max-keys:100000}") int maxKeys) {
+        this.publicFormCache = publicFormCache;
+        this.enabled = enabled;
+        this.formPermitsPerMinute = formPermitsPerMinute;
+        this.formBurst = formBurst;
+        this.ipPermitsPerMinute = ipPermitsPerMinute;
+        this.ipBurst = ipBurst;
+        this.formLimiter = new RateLimiter(maxKeys);
+        this.ipLimiter = new RateLimiter(maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || publicIdOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr(), ipPermitsPerMinute, ipBurst);
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        String idPublic = publicIdOf(request);
+        PublicFormSnapshot snapshot = publicFormCache.get(idPublic);
+        if (snapshot != null) {
+            int permitsPerMinute = snapshot.rateLimitPerMinute() != null ? snapshot.rateLimitPerMinute() : formPermitsPerMinute;
+            // o limite por formulário vale para todos os ids públicos que ele já teve
+            waitNanos = formLimiter.tryAcquire(snapshot.formId().toString(), permitsPerMinute,
+                    Math.min(formBurst, Math.max(1, permitsPerMinute)));
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Muitas requisições para este formulário. Tente novamente em " + retryAfterSeconds + " segundos.");
+    }
+
+    /**
+     * Extrai o idPublic de {@code POST /api/forms/{idPublic}/answers} e de
+     * {@code GET /api/forms/public/{tipo}/{idPublic}} sem regex, ou devolve {@code null}.
+     */
+    static String publicIdOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!uri.startsWith(FORMS_PREFIX))
+            return null;
+
+        String method = request.getMethod();
+        if ("POST".equals(method) && uri.endsWith(ANSWERS_SUFFIX)) {
+            String idPublic = uri.substring(FORMS_PREFIX.length(), uri.length() - ANSWERS_SUFFIX.length());
+            return idPublic.isEmpty() || idPublic.indexOf('/') >= 0 ? null : idPublic;
+        }
+
+        if ("GET".equals(method) && uri.startsWith(PUBLIC_PREFIX)) {
+            int slash = uri.indexOf('/', PUBLIC_PREFIX.length());
+            if (slash < 0 || slash == uri.length() - 1)
+                return null;
+            String idPublic = uri.substring(slash + 1);
+            return idPublic.indexOf('/') >= 0 ? null : idPublic;
+        }
+        return null;
+    }
+}
@@ -1,38 +1,66 @@
 package com.fulldev.formulario.security.infra.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.security.oauth2.client.web.OAuth2LoginAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfiguration.class);
+
     @Autowired
     SecurityFilter securityFilter;
 
+    @Autowired
+    RateLimitFilter rateLimitFilter;
+
     @Autowired
     private OtherLoginSuccessHandler successHandler;
 
+    @Autowired
+    ManagementPortRequestMatcher managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity, OtherLoginSuccessHandler successHandler) throws Exception{
 
+        // o actuator só responde na porta de gerenciamento (management.server.port), fora do acesso público
+        RequestMatcher publicActuator = new AndRequestMatcher(managementPort, new OrRequestMatcher(
+                AntPathRequestMatcher.antMatcher("/actuator/health/**"),
+                AntPathRequestMatcher.antMatcher("/actuator/prometheus")));
+        RequestMatcher actuatorOnApplicationPort = new AndRequestMatcher(new NegatedRequestMatcher(managementPort),
+                AntPathRequestMatcher.antMatcher("/actuator/**"));
+
         httpSecurity.csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -46,16 +74,22 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.POST, "/api/forms/{idPublic}/answers").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/other-login/").permitAll()
+                        .requestMatchers(publicActuator).permitAll()
+                        .requestMatchers(actuatorOnApplicationPort).denyAll()
                         .requestMatchers("/api/forms/public/**").permitAll()
                         .requestMatchers("/api/forms/**").authenticated()
                         .anyRequest().authenticated()
                 )
+                // sem isto o anônimo negado seria redirecionado para o login OAuth2
+                .exceptionHandling(exceptions -> exceptions
+                        .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.FORBIDDEN), actuatorOnApplicationPort))
                 .oauth2Login(oauth -> oauth
                         .loginPage("https://fulldev-seven.vercel.app/login")
                         .successHandler(successHandler)
                         .failureUrl("/login?error=true")
                 )
-                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, SecurityFilter.class);
 
         return httpSecurity.build();
 
@@ -67,15 +101,12 @@ public class SecurityConfiguration {
         configuration.setAllowedOrigins(List.of("https://fulldev-seven.vercel.app"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Cookie", "Accept"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag", "X-Next-Cursor", "Content-Disposition", "Retry-After"));
         configuration.setAllowCredentials(true);
 
-        System.out.println("CORS Configuration Details:");
-        System.out.println("Allowed Origins: " + configuration.getAllowedOrigins());
-        System.out.println("Allowed Methods: " + configuration.getAllowedMethods());
-        System.out.println("Allowed Headers: " + configuration.getAllowedHeaders());
-        System.out.println("Exposed Headers: " + configuration.getExposedHeaders());
-        System.out.println("Allow Credentials: " + configuration.getAllowCredentials());
+        log.info("CORS: origens {}, métodos {}, cabeçalhos {}, expostos {}, credenciais {}",
+                configuration.getAllowedOrigins(), configuration.getAllowedMethods(), configuration.getAllowedHeaders(),
+                configuration.getExposedHeaders(), configuration.getAllowCredentials());
 
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -89,9 +120,22 @@ public class SecurityConfiguration {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    /**
+     * Hashes novos saem como {@code {bcrypt}} com o custo configurado. Hashes antigos, sem prefixo,
+     * continuam sendo verificados como BCrypt e são regravados no próximo login bem-sucedido
+     * (ver {@code AuthorizationService.updatePassword}), assim como os de custo menor que o atual.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${api.security.password.threads:0}") int threads,
+                                           @Value("${api.security.password.queue-capacity:64}") int queueCapacity,
+                                           MeterRegistry meterRegistry){
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, meterRegistry);
     }
 
 
@@ -1,6 +1,9 @@
 package com.fulldev.formulario.security.infra.config;
 
-import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.service.AuthenticatedUserCache;
+import com.fulldev.formulario.security.domain.service.RequestUserResolver;
 import com.fulldev.formulario.security.domain.service.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,7 +12,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -22,18 +24,29 @@ public class SecurityFilter extends OncePerRequestFilter {
     TokenService tokenService;
 
     @Autowired
-    UserRepository userRepository;
+    RequestUserResolver requestUserResolver;
+
+    @Autowired
+    AuthenticatedUserCache authenticatedUserCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if (token != null){
-            var email = tokenService.validantionToken(token);
-            UserDetails user = userRepository.findByEmail(email);
-
-
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            User user = authenticatedUserCache.get(token);
+            if (user == null) {
+                long generation = authenticatedUserCache.generation();
+                DecodedJWT jwt = tokenService.verify(token);
+                user = requestUserResolver.findByEmail(jwt.getSubject());
+                if (user != null)
+                    authenticatedUserCache.put(token, user, jwt.getExpiresAtAsInstant(), generation);
+            }
+
+            // token válido de uma conta que não existe mais não autentica ninguém
+            if (user != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,60 @@
+package com.fulldev.formulario.security.infra.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Mede periodicamente o atraso da réplica com {@code api.datasource.replica.lag-query}. Enquanto o
+ * atraso passa de {@code max-lag-ms}, ou a consulta falha, as leituras voltam para o primário.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    // negativo até a primeira medição ou quando a réplica não responde
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, String lagQuery, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Atraso da réplica em milissegundos (-1 quando indisponível)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.datasource.replica.lag-check-interval-ms:1000}")
+    public void refresh() {
+        long previous = lagMillis;
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            lagMillis = lag == null ? 0 : Math.max(0, lag.longValue());
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            if (previous >= 0)
+                log.warn("Réplica indisponível, leituras voltam para o primário: {}", e.getMessage());
+            return;
+        }
+
+        if (previous >= 0 && previous <= maxLagMillis && lagMillis > maxLagMillis)
+            log.warn("Réplica {} ms atrasada, leituras voltam para o primário", lagMillis);
+    }
+
+    public boolean isAvailable() {
+        long lag = lagMillis;
+        return lag >= 0 && lag <= maxLagMillis;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
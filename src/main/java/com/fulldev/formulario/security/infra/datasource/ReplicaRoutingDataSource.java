@@ -0,0 +1,125 @@
+package com.fulldev.formulario.security.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manda transações {@code readOnly} para a réplica e todo o resto para o primário. Precisa ficar atrás
+ * de um {@code LazyConnectionDataSourceProxy}, para que a conexão só seja escolhida depois que a
+ * transação marcou se é somente leitura.
+ * <p>
+ * Leituras voltam para o primário quando a réplica está atrasada ({@link ReplicaLagMonitor}), na mesma
+ * requisição depois de uma escrita, e por {@code sticky-ms} para o usuário que acabou de escrever,
+ * para que ele veja o que gravou mesmo que a réplica ainda não tenha recebido.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final String WROTE_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".WROTE";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long stickyMillis;
+    private final int maxKeys;
+
+    // usuário -> até quando as leituras dele ficam no primário
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    long stickyMillis, int maxKeys) {
+        this.lagMonitor = lagMonitor;
+        this.stickyMillis = stickyMillis;
+        this.maxKeys = maxKeys;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive())
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite();
+                    }
+                });
+            return Route.PRIMARY;
+        }
+
+        if (!lagMonitor.isAvailable() || wroteRecently())
+            return Route.PRIMARY;
+        return Route.REPLICA;
+    }
+
+    private void recordWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null)
+            request.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        String user = currentUser();
+        if (user == null || stickyMillis <= 0)
+            return;
+        long now = System.currentTimeMillis();
+        if (recentWriters.size() >= maxKeys)
+            sweep(now);
+        recentWriters.put(user, now + stickyMillis);
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true))
+            return;
+        try {
+            recentWriters.values().removeIf(until -> until <= now);
+            int excess = recentWriters.size() - maxKeys * 9 / 10;
+            if (excess <= 0)
+                return;
+            // muitos usuários escrevendo ao mesmo tempo: só quem escreveu há mais tempo perde a janela,
+            // e a réplica já teve mais tempo para receber o que ele gravou
+            recentWriters.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(excess)
+                    .toList()
+                    .forEach(entry -> recentWriters.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private boolean wroteRecently() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null)
+            return true;
+
+        String user = currentUser();
+        if (user == null)
+            return false;
+        Long until = recentWriters.get(user);
+        if (until == null)
+            return false;
+        if (until > System.currentTimeMillis())
+            return true;
+        recentWriters.remove(user, until);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken)
+            return null;
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,68 @@
+package com.fulldev.formulario.security.infra.ratelimit;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Conjunto de token buckets por chave com memória limitada. Quando passa de {@code maxKeys}, os
+ * baldes cheios (ociosos) são descartados; se ainda assim não couber, saem os menos restritos (os
+ * mais perto de encher). Quem está sendo limitado continua limitado, mesmo que alguém inunde o mapa
+ * com chaves novas.
+ */
+public class RateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final int maxKeys;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public RateLimiter(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Devolve zero se a requisição pode seguir, ou os nanos até o próximo token.
+     */
+    public long tryAcquire(String key, int permitsPerMinute, int burst) {
+        if (permitsPerMinute <= 0)
+            return 0;
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys)
+                sweep(now);
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+        return bucket.tryConsume(now, NANOS_PER_MINUTE / permitsPerMinute, Math.max(1, burst));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true))
+            return;
+        try {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            int excess = buckets.size() - maxKeys * 9 / 10;
+            if (excess <= 0)
+                return;
+            // a sobra dos que ainda estão limitados volta em no máximo um intervalo de reposição
+            buckets.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue().theoreticalArrival()))
+                    .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(buckets::remove);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fulldev.formulario.security.infra.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks, no formato GCRA: o estado inteiro é um único instante (o "theoretical
+ * arrival time"), atualizado por CAS. Um balde cheio equivale a esse instante estar no passado;
+ * cada requisição empurra o instante um intervalo para frente.
+ */
+public class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consome um token e devolve zero, ou devolve quantos nanos faltam para o próximo token.
+     *
+     * @param intervalNanos tempo para repor um token (um minuto dividido pelo limite por minuto)
+     * @param capacity      quantos tokens o balde acumula (rajada permitida)
+     */
+    public long tryConsume(long nowNanos, long intervalNanos, int capacity) {
+        long tolerance = intervalNanos * (capacity - 1L);
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, nowNanos);
+            long waitNanos = arrival - tolerance - nowNanos;
+            if (waitNanos > 0)
+                return waitNanos;
+            if (theoreticalArrival.compareAndSet(current, arrival + intervalNanos))
+                return 0;
+        }
+    }
+
+    /**
+     * Balde cheio: não guarda nenhuma informação além do padrão e pode ser descartado.
+     */
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+
+    /**
+     * Quanto maior, mais limitado o cliente está; usado para escolher quem sai quando o mapa lota.
+     */
+    long theoreticalArrival() {
+        return theoreticalArrival.get();
+    }
+}
@@ -0,0 +1,40 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Cria as sequências que passam a gerar os ids de pergunta e resposta (para o Hibernate inserir em
+ * lote) começando depois do maior id já gravado pela coluna identity. É Java, e não SQL, porque o
+ * valor inicial depende dos dados e o setval do PostgreSQL não existe nos outros bancos.
+ */
+public class V4__question_and_answer_sequences extends BaseJavaMigration {
+
+    // igual ao allocationSize das entidades: o otimizador pooled usa (valor - 50, valor] como bloco
+    private static final long INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        createAfterMaxId(connection, "question_seq", "question");
+        createAfterMaxId(connection, "answer_seq", "answer");
+    }
+
+    private void createAfterMaxId(Connection connection, String sequence, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            // o primeiro bloco entregue começa em maxId + 1
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                    + " START WITH " + (maxId + INCREMENT) + " INCREMENT BY " + INCREMENT);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Troca os tokens de verificação e de redefinição gravados em texto puro pelo SHA-256 deles, como
+ * passam a ser gravados, e dá um prazo aos que estavam pendentes. O hash fica aqui, e não no
+ * OneTimeTokens da aplicação, para a migração não mudar se a aplicação mudar.
+ */
+public class V9__hash_user_tokens extends BaseJavaMigration {
+
+    private static final Duration PENDING_VERIFICATION_TTL = Duration.ofDays(7);
+    private static final Duration PENDING_RESET_TTL = Duration.ofHours(1);
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Instant now = Instant.now();
+        hash(connection, "verification_token", "verification_token_expires_at", Timestamp.from(now.plus(PENDING_VERIFICATION_TTL)));
+        hash(connection, "reset_token", "reset_token_expires_at", Timestamp.from(now.plus(PENDING_RESET_TTL)));
+    }
+
+    private void hash(Connection connection, String column, String expiresColumn, Timestamp expiresAt) throws SQLException {
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT id, " + column + " FROM users WHERE " + column + " IS NOT NULL");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE users SET " + column + " = ?, " + expiresColumn + " = ? WHERE id = ?")) {
+            while (rs.next()) {
+                update.setString(1, sha256(rs.getString(2)));
+                update.setTimestamp(2, expiresAt);
+                update.setString(3, rs.getString(1));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+-- Índice invertido da busca dos donos: uma linha por título, descrição, pergunta e resposta aberta,
+-- mantida pela aplicação junto com a gravação do formulário e das respostas. No PostgreSQL a coluna
+-- tsvector e o índice GIN ficam em db/vendor/postgresql; nos demais bancos a busca cai para LIKE.
+
+create table search_entry (
+    id bigint generated by default as identity,
+    form_id bigint not null,
+    kind varchar(16) not null check (kind in ('TITLE', 'DESCRIPTION', 'QUESTION', 'ANSWER')),
+    question_id bigint,
+    answer_id bigint,
+    content varchar(1000) not null,
+    primary key (id),
+    constraint fk_search_entry_form foreign key (form_id) references form (id) on delete cascade
+);
+
+create index idx_search_entry_form_id on search_entry (form_id, kind);
+
+insert into search_entry (form_id, kind, content)
+select f.id, 'TITLE', f.title from form f;
+
+insert into search_entry (form_id, kind, content)
+select f.id, 'DESCRIPTION', f.description from form f
+where f.description is not null and f.description <> '';
+
+insert into search_entry (form_id, kind, question_id, content)
+select q.form_id, 'QUESTION', q.id,
+       case when q.question_description is null then q.title else q.title || ' ' || q.question_description end
+from question q;
+
+-- só respostas de perguntas sem opções (texto livre); as respostas no formato compacto
+-- (api.forms.answers.storage=compact) entram no índice a partir dos próximos envios
+insert into search_entry (form_id, kind, question_id, answer_id, content)
+select a.form_id, 'ANSWER', d.question_id, a.id, d.response
+from answer_details d
+join answer a on a.id = d.answer_id
+where d.response is not null and d.response <> ''
+  and not exists (select 1 from question_options o where o.question_id = d.question_id);
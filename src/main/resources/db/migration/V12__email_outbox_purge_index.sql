@@ -0,0 +1,3 @@
+-- Limpeza periódica da outbox: apaga por status e created_at sem varrer a tabela inteira.
+
+create index if not exists idx_email_outbox_status_created_at on email_outbox (status, created_at);
@@ -0,0 +1,67 @@
+-- Esquema que o ddl-auto=update gerava até aqui. Bancos que já existem são marcados nesta versão
+-- (spring.flyway.baseline-on-migrate) e só executam as migrações seguintes.
+
+create table users (
+    id varchar(255) not null,
+    login varchar(255) not null,
+    password varchar(255),
+    role varchar(255) check (role in ('ADMIN', 'USER')),
+    verified boolean not null,
+    verification_token varchar(255),
+    reset_token varchar(255),
+    primary key (id),
+    constraint uk_users_login unique (login)
+);
+
+create table form (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    description varchar(255),
+    created_by varchar(255),
+    link varchar(255),
+    send_email_responses_count boolean not null,
+    id_public varchar(255),
+    responses_count integer,
+    views integer,
+    form_has_login varchar(255) check (form_has_login in ('PRIVATE', 'PASSWORD', 'PUBLIC')),
+    access_username varchar(255) array,
+    access_password varchar(255),
+    is_published boolean not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table question (
+    id bigint generated by default as identity,
+    form_id bigint not null,
+    title varchar(255) not null,
+    type varchar(255) not null,
+    question_description varchar(255),
+    required boolean not null,
+    placeholder varchar(255),
+    primary key (id),
+    constraint fk_question_form foreign key (form_id) references form (id)
+);
+
+create table question_options (
+    question_id bigint not null,
+    option varchar(255),
+    constraint fk_question_options_question foreign key (question_id) references question (id)
+);
+
+create table answer (
+    id bigint generated by default as identity,
+    form_id bigint not null,
+    answered_by_id varchar(255),
+    primary key (id),
+    constraint fk_answer_form foreign key (form_id) references form (id),
+    constraint fk_answer_answered_by foreign key (answered_by_id) references users (id)
+);
+
+create table answer_details (
+    answer_id bigint not null,
+    question_id bigint not null,
+    response varchar(255),
+    primary key (answer_id, question_id),
+    constraint fk_answer_details_answer foreign key (answer_id) references answer (id)
+);
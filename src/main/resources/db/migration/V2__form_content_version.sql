@@ -0,0 +1,4 @@
+-- Versão do conteúdo do formulário, usada no ETag da definição e incrementada a cada alteração.
+-- IF NOT EXISTS porque bancos de desenvolvimento podem já ter a coluna criada pelo ddl-auto.
+
+alter table form add column if not exists content_version bigint default 0 not null;
@@ -0,0 +1,11 @@
+-- Contagem por pergunta e por opção mantida a cada resposta; a linha com option_value nulo conta
+-- quantas respostas preencheram a pergunta.
+
+create table if not exists question_statistic (
+    id bigint generated by default as identity,
+    form_id bigint not null,
+    question_id bigint not null,
+    option_value varchar(255),
+    total bigint not null,
+    primary key (id)
+);
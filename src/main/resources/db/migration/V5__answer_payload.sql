@@ -0,0 +1,4 @@
+-- Armazenamento compacto: a resposta inteira em um payload binário, sem linhas em answer_details.
+-- As respostas antigas continuam em answer_details até a migração em segundo plano convertê-las.
+
+alter table answer add column if not exists payload bytea;
@@ -0,0 +1,3 @@
+-- Limite de respostas e visualizações públicas por minuto; nulo usa o padrão da aplicação.
+
+alter table form add column if not exists rate_limit_per_minute integer;
@@ -0,0 +1,19 @@
+-- Outbox dos e-mails: gravados na mesma transação da alteração que os gerou e enviados em lotes.
+
+create table if not exists email_outbox (
+    id bigint generated by default as identity,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    dedup_key varchar(255) not null,
+    status varchar(16) not null check (status in ('PENDING', 'SENT', 'FAILED', 'SUPERSEDED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    sent_at timestamp(6) with time zone,
+    last_error varchar(1000),
+    primary key (id)
+);
+
+create index if not exists idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
+create index if not exists idx_email_outbox_dedup_key on email_outbox (dedup_key, status);
@@ -0,0 +1,20 @@
+-- Índices para as buscas que antes varriam a tabela inteira: verificação e redefinição de senha,
+-- formulário público, "meus formulários" e respostas/perguntas de um formulário.
+-- Índices únicos aceitam vários NULL, então os tokens já consumidos não colidem entre si.
+
+alter table users add column verification_token_expires_at timestamp(6) with time zone;
+alter table users add column reset_token_expires_at timestamp(6) with time zone;
+
+create unique index ux_users_verification_token on users (verification_token);
+create unique index ux_users_reset_token on users (reset_token);
+create index idx_users_verification_token_expires_at on users (verification_token_expires_at);
+create index idx_users_reset_token_expires_at on users (reset_token_expires_at);
+
+create unique index ux_form_id_public on form (id_public);
+create index idx_form_created_by on form (created_by, created_at);
+
+create index idx_answer_form_id on answer (form_id, id);
+create index idx_question_form_id on question (form_id);
+create index idx_question_options_question_id on question_options (question_id);
+create index idx_question_statistic_form_id on question_statistic (form_id);
+create index idx_question_statistic_question_id on question_statistic (question_id, option_value);
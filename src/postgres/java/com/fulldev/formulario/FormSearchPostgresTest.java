@@ -0,0 +1,107 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.dto.FormDTO;
+import com.fulldev.formulario.form.dto.FormSearchPageDTO;
+import com.fulldev.formulario.form.dto.QuestionDTO;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.service.FormSearchService;
+import com.fulldev.formulario.form.service.FormService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A busca com tsvector (V11, só em db/vendor/postgresql) contra um PostgreSQL de verdade. Fora do
+ * mvn test padrão: {@code mvn -Ppostgres test}.
+ */
+@Tag("postgres")
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+class FormSearchPostgresTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+    }
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private FormSearchService formSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void vendorMigrationAddsTheDocumentColumn() {
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM information_schema.columns " +
+                "WHERE table_name = 'search_entry' AND column_name = 'document'", Integer.class));
+    }
+
+    @Test
+    void fullTextSearchStemsAndRanksByKind() {
+        String owner = UUID.randomUUID() + "@example.com";
+        Form form = formService.createForm(new FormDTO("Atendimento da loja", null, List.of(
+                new QuestionDTO("O que achou?", null, "text", null, false),
+                new QuestionDTO("Nota", null, "radio", List.of("atendimento rápido", "atendimento lento"), false)
+        ), null), owner);
+        Question text = form.getQuestions().get(0);
+        Question radio = form.getQuestions().get(1);
+
+        formService.registerAnswer(form, Map.of(text.getId(), "Os atendimentos foram ótimos", radio.getId(), "atendimento rápido"));
+        formService.registerAnswers(Map.of(form.getId(), List.of(Map.of(text.getId(), "Nada a declarar"))));
+
+        // o stemmer em português junta "atendimentos" e "atendimento"; a resposta de opções fica de fora
+        FormSearchPageDTO page = formSearchService.search(owner, "atendimentos", 0, 20);
+        assertEquals(2, page.total());
+        assertEquals("TITLE", page.hits().get(0).kind());
+        assertEquals("ANSWER", page.hits().get(1).kind());
+        assertTrue(page.hits().get(0).rank() > page.hits().get(1).rank());
+
+        // sintaxe do websearch_to_tsquery: o termo com "-" exclui
+        assertEquals(1, formSearchService.search(owner, "atendimento -ótimos", 0, 20).total());
+        assertEquals(1, formSearchService.search(owner, "declarar", 0, 20).total());
+        assertEquals(0, formSearchService.search(UUID.randomUUID() + "@example.com", "atendimento", 0, 20).total());
+    }
+
+    @Test
+    void updatingTheFormDropsAnswersOfRemovedQuestions() {
+        String owner = UUID.randomUUID() + "@example.com";
+        Form form = formService.createForm(new FormDTO("Inscrição", null, List.of(
+                new QuestionDTO("Nome completo", null, "text", null, true)
+        ), null), owner);
+        formService.registerAnswer(form, Map.of(form.getQuestions().get(0).getId(), "Maria Aparecida"));
+        assertEquals(1, formSearchService.search(owner, "aparecida", 0, 20).total());
+
+        formService.updateForm(form.getId(), owner, new FormDTO("Inscrição", null, List.of(
+                new QuestionDTO("E-mail de contato", null, "text", null, true)
+        ), null));
+
+        assertEquals(0, formSearchService.search(owner, "aparecida", 0, 20).total());
+        assertEquals(1, formSearchService.search(owner, "contato", 0, 20).total());
+    }
+}
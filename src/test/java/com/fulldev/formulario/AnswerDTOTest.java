@@ -0,0 +1,27 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.dto.AnswerDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerDTOTest {
+
+    @Test
+    void collectsAnswersIncludingBlankOnes() {
+        Map<Long, String> answers = AnswerDTO.toAnswerMap(List.of(new AnswerDTO(1L, "sim"), new AnswerDTO(2L, null)));
+
+        assertEquals(2, answers.size());
+        assertEquals("sim", answers.get(1L));
+        assertTrue(answers.containsKey(2L));
+    }
+
+    @Test
+    void rejectsMissingOrRepeatedQuestions() {
+        assertNull(AnswerDTO.toAnswerMap(List.of(new AnswerDTO(null, "sim"))));
+        assertNull(AnswerDTO.toAnswerMap(List.of(new AnswerDTO(1L, null), new AnswerDTO(1L, "sim"))));
+    }
+}
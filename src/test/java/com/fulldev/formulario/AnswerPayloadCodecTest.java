@@ -0,0 +1,43 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.AnswerPayloadCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerPayloadCodecTest {
+
+    @Test
+    void roundTripsEveryAnswer() {
+        Map<Long, String> answers = new HashMap<>();
+        answers.put(3L, "Sim");
+        answers.put(1L, "ação, \"aspas\"\nnova linha");
+        answers.put(300_000L, "");
+        answers.put(42L, null);
+
+        assertEquals(answers, AnswerPayloadCodec.decode(AnswerPayloadCodec.encode(answers)));
+    }
+
+    @Test
+    void decodesOnlyRequestedQuestions() {
+        Map<Long, String> answers = new HashMap<>();
+        for (long id = 1; id <= 30; id++) {
+            answers.put(id, "resposta " + id);
+        }
+
+        Map<Long, String> decoded = AnswerPayloadCodec.decode(AnswerPayloadCodec.encode(answers), Set.of(7L, 29L, 99L));
+
+        assertEquals(Map.of(7L, "resposta 7", 29L, "resposta 29"), decoded);
+    }
+
+    @Test
+    void emptyPayloadDecodesToEmptyMap() {
+        assertTrue(AnswerPayloadCodec.decode(AnswerPayloadCodec.encode(Map.of())).isEmpty());
+        assertTrue(AnswerPayloadCodec.decode(null).isEmpty());
+    }
+}
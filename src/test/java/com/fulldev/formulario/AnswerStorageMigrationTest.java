@@ -0,0 +1,110 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.dto.AnswerDTO;
+import com.fulldev.formulario.form.dto.FormStatisticsDTO;
+import com.fulldev.formulario.form.model.entities.Answer;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.AnswerRepository;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.AnswerExportFormat;
+import com.fulldev.formulario.form.service.AnswerExportService;
+import com.fulldev.formulario.form.service.AnswerStorageMigration;
+import com.fulldev.formulario.form.service.FormService;
+import com.fulldev.formulario.form.service.FormStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "api.forms.answers.storage=compact")
+@ActiveProfiles("test")
+class AnswerStorageMigrationTest {
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private FormStatisticsService formStatisticsService;
+
+    @Autowired
+    private AnswerExportService answerExportService;
+
+    @Autowired
+    private AnswerStorageMigration answerStorageMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void legacyAndCompactAnswersReadTheSame() {
+        Form form = new Form();
+        form.setTitle("Formulário migrado");
+        form.setCreatedBy("owner@example.com");
+        form.setIsPublished(true);
+
+        Question question = new Question();
+        question.setForm(form);
+        question.setTitle("Gosta?");
+        question.setType("radio");
+        question.setOptions(new ArrayList<>(List.of("Sim", "Não")));
+        form.getQuestions().add(question);
+        formRepository.save(form);
+        Long questionId = form.getQuestions().get(0).getId();
+
+        // resposta antiga, gravada em answer_details
+        Answer legacy = new Answer();
+        legacy.setForm(form);
+        legacy.setAnswers(new HashMap<>(Map.of(questionId, "Sim")));
+        answerRepository.save(legacy);
+
+        // resposta nova, gravada no formato compacto
+        formService.registerAnswer(formRepository.findById(form.getId()).orElseThrow(),
+                List.of(new AnswerDTO(questionId, "Não")));
+
+        String before = export(form.getId());
+        assertEquals(1, countDetails(form.getId()));
+        assertEquals(3, before.lines().count());
+        assertTrue(before.contains(legacy.getId() + ",Sim\r\n"));
+        assertTrue(before.contains(",Não\r\n"));
+
+        assertEquals(1, answerStorageMigration.migrate());
+
+        assertEquals(0, countDetails(form.getId()));
+        assertEquals(before, export(form.getId()));
+        assertEquals(Map.of(questionId, "Sim"), answerRepository.findById(legacy.getId()).orElseThrow().getAnswers());
+
+        formStatisticsService.rebuild(form.getId());
+        FormStatisticsDTO statistics = formStatisticsService.getStatistics(formRepository.findById(form.getId()).orElseThrow());
+        assertEquals(2, statistics.questions().get(0).answeredCount());
+        assertEquals(Map.of("Sim", 1L, "Não", 1L), statistics.questions().get(0).optionCounts());
+    }
+
+    private int countDetails(Long formId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answer_details d JOIN answer a ON a.id = d.answer_id " +
+                "WHERE a.form_id = ?", Integer.class, formId);
+    }
+
+    private String export(Long formId) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        answerExportService.export(formId, AnswerExportFormat.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
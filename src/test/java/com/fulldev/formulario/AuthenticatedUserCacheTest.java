@@ -0,0 +1,113 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.service.AuthenticatedUserCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AuthenticatedUserCacheTest {
+
+    private final User alice = user("1", "alice@example.com", UserRole.ADMIN);
+    private final User bob = user("2", "bob@example.com", UserRole.USER);
+
+    @Test
+    void returnsCachedPrincipalUntilTokenExpires() throws Exception {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(300, 100);
+
+        cache.put("token-a", alice, Instant.now().plusSeconds(60), cache.generation());
+        cache.put("token-b", bob, Instant.now().plusMillis(50), cache.generation());
+
+        assertEquals("alice@example.com", cache.get("token-a").getUsername());
+        assertEquals("bob@example.com", cache.get("token-b").getUsername());
+
+        Thread.sleep(100);
+
+        assertNotNull(cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void returnsACopyInsteadOfTheEntity() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(300, 100);
+        cache.put("token-a", alice, Instant.now().plusSeconds(60), cache.generation());
+
+        User first = cache.get("token-a");
+        assertNotSame(alice, first);
+        assertEquals(alice.getId(), first.getId());
+        assertEquals(alice.getAuthorities(), first.getAuthorities());
+        assertNull(first.getPassword());
+
+        first.setEmail("outro@example.com");
+        assertEquals("alice@example.com", cache.get("token-a").getEmail());
+    }
+
+    @Test
+    void invalidateRemovesEveryTokenOfTheUser() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(300, 100);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        cache.put("token-a1", alice, expiresAt, cache.generation());
+        cache.put("token-a2", alice, expiresAt, cache.generation());
+        cache.put("token-b", bob, expiresAt, cache.generation());
+
+        cache.invalidate("alice@example.com");
+
+        assertNull(cache.get("token-a1"));
+        assertNull(cache.get("token-a2"));
+        assertEquals("bob@example.com", cache.get("token-b").getUsername());
+    }
+
+    @Test
+    void putOfAUserReadBeforeAnInvalidateIsDiscarded() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(300, 100);
+        long generation = cache.generation();
+
+        cache.invalidate("alice@example.com");
+        cache.put("token-a", alice, Instant.now().plusSeconds(60), generation);
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void evictsOldestEntriesWhenFull() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(300, 2);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        cache.put("token-1", alice, expiresAt, cache.generation());
+        cache.put("token-2", alice, expiresAt, cache.generation());
+        cache.put("token-3", bob, expiresAt, cache.generation());
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("token-1"));
+        assertNotNull(cache.get("token-3"));
+    }
+
+    @Test
+    void repeatedPutsOfTheSameTokenDoNotEvictOthers() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(300, 2);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        cache.put("token-1", alice, expiresAt, cache.generation());
+        cache.put("token-2", bob, expiresAt, cache.generation());
+        for (int i = 0; i < 10; i++)
+            cache.put("token-2", bob, expiresAt, cache.generation());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("token-1"));
+        assertNotNull(cache.get("token-2"));
+    }
+
+    private static User user(String id, String email, UserRole role) {
+        User user = new User(email, "senha", role);
+        user.setId(id);
+        user.setVerified(true);
+        return user;
+    }
+}
@@ -0,0 +1,93 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.fulldev.formulario.security.domain.service.AuthenticatedUserCache;
+import com.fulldev.formulario.security.domain.service.AuthorizationService;
+import com.fulldev.formulario.security.domain.service.RequestUserResolver;
+import com.fulldev.formulario.security.infra.config.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthorizationServiceTest {
+
+    private static final String EMAIL = "legacy@example.com";
+    private static final String PASSWORD = "Senha@123";
+
+    private final RequestUserResolver requestUserResolver = mock(RequestUserResolver.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AuthenticatedUserCache authenticatedUserCache = mock(AuthenticatedUserCache.class);
+    private final AuthorizationService authorizationService = new AuthorizationService();
+
+    private BoundedPasswordEncoder encoder;
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authorizationService, "requestUserResolver", requestUserResolver);
+        ReflectionTestUtils.setField(authorizationService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authorizationService, "authenticatedUserCache", authenticatedUserCache);
+
+        // mesma montagem do SecurityConfiguration, com custo baixo para o teste
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(6)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        encoder = new BoundedPasswordEncoder(delegating, 2, 4, new SimpleMeterRegistry());
+
+        // o Boot registra o AuthorizationService assim no DaoAuthenticationProvider
+        provider = new DaoAuthenticationProvider(encoder);
+        provider.setUserDetailsService(authorizationService);
+        provider.setUserDetailsPasswordService(authorizationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void loginWithLegacyHashStoresUpgradedHash() {
+        String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        User user = new User(EMAIL, legacy, UserRole.USER);
+        when(requestUserResolver.findByEmail(EMAIL)).thenReturn(user);
+
+        assertTrue(provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD)).isAuthenticated());
+
+        assertTrue(user.getPassword().startsWith("{bcrypt}$2a$06$"));
+        assertTrue(encoder.matches(PASSWORD, user.getPassword()));
+        assertFalse(encoder.upgradeEncoding(user.getPassword()));
+        verify(userRepository).save(user);
+        verify(authenticatedUserCache).invalidate(EMAIL);
+    }
+
+    @Test
+    void loginWithCurrentHashKeepsIt() {
+        String current = encoder.encode(PASSWORD);
+        User user = new User(EMAIL, current, UserRole.USER);
+        when(requestUserResolver.findByEmail(EMAIL)).thenReturn(user);
+
+        assertTrue(provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD)).isAuthenticated());
+
+        assertEquals(current, user.getPassword());
+        verify(userRepository, never()).save(user);
+        verify(authenticatedUserCache, never()).invalidate(EMAIL);
+    }
+}
@@ -0,0 +1,87 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.infra.config.BoundedPasswordEncoder;
+import com.fulldev.formulario.security.infra.config.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            while (meterRegistry.get("security.password.hash.queue").gauge().value() < 1)
+                Thread.onSpinWait();
+
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("c"));
+            assertEquals(1, meterRegistry.get("security.password.hash.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void upgradesLegacyAndWeakerHashes() {
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(6)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegating, 2, 4, meterRegistry);
+        try {
+            String legacy = new BCryptPasswordEncoder(4).encode("Senha@123");
+            assertTrue(encoder.matches("Senha@123", legacy));
+            assertTrue(encoder.upgradeEncoding(legacy));
+
+            String current = encoder.encode("Senha@123");
+            assertTrue(current.startsWith("{bcrypt}$2a$06$"));
+            assertTrue(encoder.matches("Senha@123", current));
+            assertFalse(encoder.upgradeEncoding(current));
+            assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("Senha@123")));
+        } finally {
+            encoder.destroy();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.OutboxEmail;
+import com.fulldev.formulario.form.repositoryes.OutboxEmailRepository;
+import com.fulldev.formulario.form.service.EmailOutboxDispatcher;
+import com.fulldev.formulario.form.service.EmailService;
+import com.fulldev.formulario.form.service.EmailType;
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.service.UserService;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.properties.mail.smtp.starttls.required=false",
+        "api.email.outbox.backoff-ms=60000",
+        "api.email.outbox.retention-ms=86400000"
+})
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxEmailRepository.deleteAll();
+    }
+
+    @Test
+    void pendingEmailsAreSentInOneDispatchAndDeduplicated() {
+        String to = UUID.randomUUID() + "@example.com";
+        emailService.send(EmailType.PASSWORD_RESET, to, Map.of("link", "http://localhost/reset?token=antigo"));
+        emailService.send(EmailType.PASSWORD_RESET, to, Map.of("link", "http://localhost/reset?token=novo"));
+        for (int i = 0; i < 5; i++) {
+            emailService.send(EmailType.RESPONSE_MILESTONE, "owner" + i + "@example.com",
+                    Map.of("title", "Formulário " + i, "count", 10, "formId", (long) i));
+        }
+
+        assertEquals(6, emailOutboxDispatcher.dispatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(6, received.length);
+        assertEquals(1, greenMail.getReceivedMessagesForDomain(to).length);
+        assertEquals(6, outboxEmailRepository.countByStatus(OutboxEmail.Status.SENT));
+        OutboxEmail reset = outboxEmailRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(to))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(reset.getBody().contains("token=novo"));
+        assertEquals(0, emailOutboxDispatcher.dispatch());
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoff() {
+        String to = UUID.randomUUID() + "@example.com";
+        emailService.send(EmailType.VERIFIED, to, Map.of());
+        greenMail.stop();
+
+        Instant before = Instant.now();
+        assertEquals(0, emailOutboxDispatcher.dispatch());
+
+        OutboxEmail email = outboxEmailRepository.findAll().get(0);
+        assertEquals(OutboxEmail.Status.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertTrue(email.getNextAttemptAt().isAfter(before.plusSeconds(59)));
+        // ainda no backoff: a próxima rodada não tenta de novo
+        assertEquals(0, emailOutboxDispatcher.dispatch());
+        assertEquals(1, outboxEmailRepository.findById(email.getId()).orElseThrow().getAttempts());
+    }
+
+    @Test
+    void registerWritesUserAndEmailTogether() {
+        String to = UUID.randomUUID() + "@example.com";
+        User user = new User(to, "senha", UserRole.ADMIN);
+
+        userService.register(user, "abc", "http://localhost/verify?token=abc");
+
+        OutboxEmail email = outboxEmailRepository.findFirstByDedupKeyAndStatus("VERIFICATION:" + to, OutboxEmail.Status.PENDING)
+                .orElseThrow();
+        assertTrue(email.getBody().contains("token=abc"));
+        assertEquals(1, emailOutboxDispatcher.dispatch());
+        assertEquals(1, greenMail.getReceivedMessagesForDomain(to).length);
+    }
+
+    @Test
+    void purgeRemovesOnlyOldSentAndSupersededEmails() {
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        OutboxEmail oldSent = outbox(OutboxEmail.Status.SENT, old);
+        OutboxEmail oldSuperseded = outbox(OutboxEmail.Status.SUPERSEDED, old);
+        OutboxEmail oldPending = outbox(OutboxEmail.Status.PENDING, old);
+        OutboxEmail oldFailed = outbox(OutboxEmail.Status.FAILED, old);
+        OutboxEmail recentSent = outbox(OutboxEmail.Status.SENT, Instant.now());
+
+        assertEquals(2, emailOutboxDispatcher.purge());
+
+        assertFalse(outboxEmailRepository.existsById(oldSent.getId()));
+        assertFalse(outboxEmailRepository.existsById(oldSuperseded.getId()));
+        assertTrue(outboxEmailRepository.existsById(oldPending.getId()));
+        assertTrue(outboxEmailRepository.existsById(oldFailed.getId()));
+        assertTrue(outboxEmailRepository.existsById(recentSent.getId()));
+        assertEquals(0, emailOutboxDispatcher.purge());
+    }
+
+    private OutboxEmail outbox(OutboxEmail.Status status, Instant createdAt) {
+        String to = UUID.randomUUID() + "@example.com";
+        OutboxEmail email = new OutboxEmail(to, "Assunto", "<p>corpo</p>", "VERIFIED:" + to);
+        email.setStatus(status);
+        email.setCreatedAt(createdAt);
+        email.setNextAttemptAt(Instant.now().plus(Duration.ofDays(1)));
+        return outboxEmailRepository.save(email);
+    }
+}
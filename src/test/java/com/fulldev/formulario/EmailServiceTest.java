@@ -1,32 +1,32 @@
 package com.fulldev.formulario;
 
-import com.fulldev.formulario.security.domain.model.entity.User;
-import com.fulldev.formulario.security.domain.service.EmailService;
-import jakarta.mail.internet.MimeMessage;
+import com.fulldev.formulario.form.model.entities.OutboxEmail;
+import com.fulldev.formulario.form.repositoryes.OutboxEmailRepository;
+import com.fulldev.formulario.form.service.EmailService;
+import com.fulldev.formulario.form.service.EmailTemplateEngine;
+import com.fulldev.formulario.form.service.EmailType;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.mockito.Spy;
 
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
-import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
-import com.fulldev.formulario.security.domain.repository.UserRepository;
-import org.springframework.security.core.userdetails.UserDetails;
+import static org.mockito.Mockito.*;
 
 
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private OutboxEmailRepository outboxEmailRepository;
 
-    @Mock
-    private UserRepository userRepository;
+    @Spy
+    private EmailTemplateEngine emailTemplateEngine = loadedTemplateEngine();
 
     @InjectMocks
     private EmailService emailService;
@@ -35,74 +35,74 @@ class EmailServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
-    @Test
-    void testSendVerificationEmail_Success() throws Exception {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+    private static EmailTemplateEngine loadedTemplateEngine() {
+        EmailTemplateEngine engine = new EmailTemplateEngine("pt-BR");
+        engine.load();
+        return engine;
+    }
 
+    @Test
+    void testSendVerificationEmail_WritesToOutbox() {
         String to = "test@example.com";
-        String subject = "Confirmação de Cadastro";
         String verificationLink = "http://localhost:3000/verify?token=123";
-
-        User mockUser = mock(User.class);
-        when(mockUser.getUsername()).thenReturn(to);
-        when(userRepository.findByEmail(to)).thenReturn(mockUser);
-
-        CompletableFuture.runAsync(() -> emailService.sendVerificationEmail(to, subject, verificationLink))
-                .join();
-
-        verify(mailSender, times(1)).send(mimeMessage);
+        when(outboxEmailRepository.findFirstByDedupKeyAndStatus(anyString(), eq(OutboxEmail.Status.PENDING)))
+                .thenReturn(Optional.empty());
+
+        emailService.send(EmailType.VERIFICATION, to, Map.of("link", verificationLink));
+
+        ArgumentCaptor<OutboxEmail> captor = ArgumentCaptor.forClass(OutboxEmail.class);
+        verify(outboxEmailRepository, times(1)).save(captor.capture());
+        OutboxEmail email = captor.getValue();
+        assertEquals(to, email.getRecipient());
+        assertEquals("Confirmação de Cadastro", email.getSubject());
+        assertEquals("VERIFICATION:" + to, email.getDedupKey());
+        assertEquals(OutboxEmail.Status.PENDING, email.getStatus());
+        assertTrue(email.getBody().contains(verificationLink));
     }
 
-
-
-
     @Test
-    void testSendSimpleEmail_Success() throws Exception {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-        String to = "simple@example.com";
-        String subject = "Assunto Simples";
-        String text = "Conteúdo do E-mail";
+    void testSendVerifiedEmail() {
+        String to = "verified@example.com";
+        when(outboxEmailRepository.findFirstByDedupKeyAndStatus(anyString(), eq(OutboxEmail.Status.PENDING)))
+                .thenReturn(Optional.empty());
 
-        CompletableFuture.runAsync(() -> emailService.sendSimpleEmail(to, subject, text))
-                .join();
+        emailService.send(EmailType.VERIFIED, to, Map.of());
 
-        verify(mailSender, times(1)).send(mimeMessage);
+        ArgumentCaptor<OutboxEmail> captor = ArgumentCaptor.forClass(OutboxEmail.class);
+        verify(outboxEmailRepository).save(captor.capture());
+        assertEquals("VERIFIED:" + to, captor.getValue().getDedupKey());
+        assertTrue(captor.getValue().getBody().contains("verificado com sucesso"));
     }
 
     @Test
-    void testSendPasswordResetEmail_Success() throws Exception {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+    void testSendPasswordResetEmail_ReplacesPendingEmail() {
         String to = "reset@example.com";
-        String subject = "Redefinição de Senha";
-        String resetLink = "http://localhost:3000/reset?token=abc";
-
-        CompletableFuture.runAsync(() -> emailService.sendPasswordResetEmail(to, subject, resetLink))
-                .join();
-
-        verify(mailSender, times(1)).send(mimeMessage);
+        OutboxEmail pending = new OutboxEmail(to, "Redefinição de Senha", "link antigo", "PASSWORD_RESET:" + to);
+        pending.setAttempts(2);
+        pending.setNextAttemptAt(Instant.now().plusSeconds(600));
+        when(outboxEmailRepository.findFirstByDedupKeyAndStatus("PASSWORD_RESET:" + to, OutboxEmail.Status.PENDING))
+                .thenReturn(Optional.of(pending));
+
+        emailService.send(EmailType.PASSWORD_RESET, to, Map.of("link", "http://localhost:3000/reset?token=novo"));
+
+        verify(outboxEmailRepository, never()).save(any());
+        assertTrue(pending.getBody().contains("token=novo"));
+        assertEquals(0, pending.getAttempts());
+        assertFalse(pending.getNextAttemptAt().isAfter(Instant.now()));
     }
 
     @Test
-    void testSendVerificationEmail_Failure() throws Exception {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-        doThrow(new RuntimeException("Erro ao enviar e-mail")).when(mailSender).send(mimeMessage);
-
-        String to = "fail@example.com";
-        String subject = "Falha no Envio";
-        String verificationLink = "http://localhost:3000/verify?token=fail";
-
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            CompletableFuture.runAsync(() -> emailService.sendVerificationEmail(to, subject, verificationLink))
-                    .join();
-        });
-
-        assertEquals("Erro ao enviar e-mail", exception.getCause().getMessage());
+    void testSendResponseMilestoneEmail_OnePerMilestone() {
+        when(outboxEmailRepository.findFirstByDedupKeyAndStatus(anyString(), eq(OutboxEmail.Status.PENDING)))
+                .thenReturn(Optional.empty());
+
+        emailService.send(EmailType.RESPONSE_MILESTONE, "owner@example.com", Map.of("title", "<Pesquisa>", "count", 10, "formId", 7L));
+        emailService.send(EmailType.RESPONSE_MILESTONE, "owner@example.com", Map.of("title", "<Pesquisa>", "count", 20, "formId", 7L));
+
+        ArgumentCaptor<OutboxEmail> captor = ArgumentCaptor.forClass(OutboxEmail.class);
+        verify(outboxEmailRepository, times(2)).save(captor.capture());
+        assertEquals("RESPONSE_MILESTONE:owner@example.com:7:10", captor.getAllValues().get(0).getDedupKey());
+        assertNotEquals(captor.getAllValues().get(0).getDedupKey(), captor.getAllValues().get(1).getDedupKey());
+        assertTrue(captor.getAllValues().get(0).getBody().contains("&lt;Pesquisa&gt;"));
     }
 }
@@ -0,0 +1,48 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.service.EmailTemplate;
+import com.fulldev.formulario.form.service.EmailTemplateEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailTemplateEngineTest {
+
+    @Test
+    void rendersVariablesWithHtmlEscaping() {
+        EmailTemplate template = EmailTemplate.compile("teste", "<p>{{title}}</p><a href=\"{{ link }}\">{{count}}</a>");
+
+        String html = template.render(Map.of("title", "<b>Pesquisa & \"opinião\"</b>", "link", "https://x/?a=1&b='2'", "count", 10));
+
+        assertEquals("<p>&lt;b&gt;Pesquisa &amp; &quot;opinião&quot;&lt;/b&gt;</p>" +
+                "<a href=\"https://x/?a=1&amp;b=&#39;2&#39;\">10</a>", html);
+    }
+
+    @Test
+    void rejectsBrokenTemplatesAndMissingVariables() {
+        assertThrows(IllegalStateException.class, () -> EmailTemplate.compile("quebrado", "<p>{{title</p>"));
+        EmailTemplate template = EmailTemplate.compile("teste", "<p>{{title}}</p>");
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    void resolvesLocalizedTemplatesWithFallback() {
+        EmailTemplateEngine engine = new EmailTemplateEngine("pt-BR");
+        engine.load();
+
+        String portuguese = engine.render("password-reset", null, Map.of("link", "https://x/reset"));
+        String english = engine.render("password-reset", Locale.US, Map.of("link", "https://x/reset"));
+        String fallback = engine.render("password-reset", Locale.JAPANESE, Map.of("link", "https://x/reset"));
+
+        assertTrue(portuguese.contains("Redefinir Senha"));
+        assertTrue(english.contains("Reset Password"));
+        assertEquals(portuguese, fallback);
+        assertEquals(portuguese, engine.render("password-reset", Locale.forLanguageTag("pt-PT"), Map.of("link", "https://x/reset")));
+        assertThrows(IllegalArgumentException.class, () -> engine.render("inexistente", null, Map.of()));
+    }
+}
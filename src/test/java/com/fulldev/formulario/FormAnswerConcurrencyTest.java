@@ -0,0 +1,124 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.AnswerRepository;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.EmailService;
+import com.fulldev.formulario.form.service.EmailType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FormAnswerConcurrencyTest {
+
+    private static final int SUBMISSIONS = 2000;
+    private static final int THREADS = 32;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void parallelSubmissionsAreCountedExactly() throws Exception {
+        Form form = new Form();
+        form.setTitle("Formulário concorrente");
+        form.setCreatedBy("owner@example.com");
+        form.setIsPublished(true);
+        form.setIdPublic(UUID.randomUUID().toString());
+        form.setSendEmailResponsesCount(true);
+
+        Question question = new Question();
+        question.setForm(form);
+        question.setTitle("Pergunta");
+        question.setType("text");
+        form.getQuestions().add(question);
+        formRepository.save(form);
+
+        Long questionId = form.getQuestions().get(0).getId();
+        String body = "[{\"questionId\":" + questionId + ",\"response\":\"resposta\"}]";
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/forms/" + form.getIdPublic() + "/answers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                results.add(executor.submit(() -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(201, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Form reloaded = formRepository.findById(form.getId()).orElseThrow();
+        assertEquals(SUBMISSIONS, reloaded.getResponsesCount());
+        assertEquals(SUBMISSIONS, answerRepository.count());
+        verify(emailService, times(SUBMISSIONS / 10)).send(eq(EmailType.RESPONSE_MILESTONE), eq("owner@example.com"), anyMap());
+    }
+
+    @Test
+    void repeatedOrMissingQuestionIsRejected() throws Exception {
+        Form form = new Form();
+        form.setTitle("Formulário com respostas inválidas");
+        form.setCreatedBy("owner@example.com");
+        form.setIsPublished(true);
+        form.setIdPublic(UUID.randomUUID().toString());
+
+        Question question = new Question();
+        question.setForm(form);
+        question.setTitle("Pergunta");
+        question.setType("text");
+        form.getQuestions().add(question);
+        formRepository.save(form);
+
+        Long questionId = form.getQuestions().get(0).getId();
+        HttpClient client = HttpClient.newHttpClient();
+        for (String body : List.of(
+                "[{\"questionId\":" + questionId + ",\"response\":\"a\"},{\"questionId\":" + questionId + ",\"response\":\"b\"}]",
+                "[{\"response\":\"sem pergunta\"}]")) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/forms/" + form.getIdPublic() + "/answers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            assertEquals(400, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+
+        assertEquals(0, formRepository.findResponsesCountById(form.getId()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.AnswerRepository;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.AnswerIngestionQueue;
+import com.fulldev.formulario.form.service.EmailService;
+import com.fulldev.formulario.form.service.EmailType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "api.forms.ingestion.enabled=true")
+@ActiveProfiles("test")
+class FormAnswerIngestionTest {
+
+    private static final int SUBMISSIONS = 1000;
+    private static final int THREADS = 32;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private AnswerIngestionQueue answerIngestionQueue;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void queuedSubmissionsAreGroupCommittedAndCountedExactly() throws Exception {
+        Form form = new Form();
+        form.setTitle("Formulário com fila");
+        form.setCreatedBy("owner@example.com");
+        form.setIsPublished(true);
+        form.setIdPublic(UUID.randomUUID().toString());
+        form.setSendEmailResponsesCount(true);
+
+        Question question = new Question();
+        question.setForm(form);
+        question.setTitle("Pergunta");
+        question.setType("text");
+        form.getQuestions().add(question);
+        formRepository.save(form);
+
+        Long questionId = form.getQuestions().get(0).getId();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = answerRequest(form.getIdPublic(), "[{\"questionId\":" + questionId + ",\"response\":\"resposta\"}]");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<HttpResponse<String>>> results = new ArrayList<>();
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                results.add(executor.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+            for (Future<HttpResponse<String>> result : results) {
+                assertEquals(202, result.get().statusCode());
+                assertTrue(result.get().body().contains("receiptId"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (formRepository.findResponsesCountById(form.getId()) < SUBMISSIONS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, answerIngestionQueue.depth());
+        assertEquals(SUBMISSIONS, formRepository.findResponsesCountById(form.getId()));
+        assertEquals(SUBMISSIONS, answerRepository.count());
+        verify(emailService, times(SUBMISSIONS / 10)).send(eq(EmailType.RESPONSE_MILESTONE), eq("owner@example.com"), anyMap());
+    }
+
+    @Test
+    void duplicatedQuestionIsRejectedBeforeQueueing() throws Exception {
+        Form form = new Form();
+        form.setTitle("Formulário inválido");
+        form.setCreatedBy("owner@example.com");
+        form.setIsPublished(true);
+        form.setIdPublic(UUID.randomUUID().toString());
+        formRepository.save(form);
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(answerRequest(form.getIdPublic(),
+                        "[{\"questionId\":1,\"response\":\"a\"},{\"questionId\":1,\"response\":\"b\"}]"),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, response.statusCode());
+    }
+
+    private HttpRequest answerRequest(String idPublic, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/forms/" + idPublic + "/answers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
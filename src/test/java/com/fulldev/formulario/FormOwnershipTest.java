@@ -0,0 +1,78 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.fulldev.formulario.security.domain.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FormOwnershipTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void ownerScopedRoutesRejectOtherUsers() throws Exception {
+        String ownerToken = tokenFor(UUID.randomUUID() + "@example.com");
+        String otherToken = tokenFor(UUID.randomUUID() + "@example.com");
+        Form form = new Form();
+        form.setTitle("Formulário privado");
+        form.setCreatedBy(tokenService.verify(ownerToken).getSubject());
+        formRepository.save(form);
+
+        assertEquals(200, send("GET", "/api/forms/" + form.getId(), ownerToken).statusCode());
+        assertEquals(200, send("GET", "/api/forms/" + form.getId() + "/stats", ownerToken).statusCode());
+        assertEquals(403, send("GET", "/api/forms/" + form.getId(), otherToken).statusCode());
+        assertEquals(403, send("GET", "/api/forms/" + form.getId() + "/answers", otherToken).statusCode());
+        assertEquals(403, send("DELETE", "/api/forms/" + form.getId(), otherToken).statusCode());
+
+        HttpResponse<String> myForms = send("GET", "/api/forms/my-forms", ownerToken);
+        assertEquals(200, myForms.statusCode());
+        assertTrue(myForms.body().contains("Formulário privado"));
+
+        assertEquals(200, send("DELETE", "/api/forms/" + form.getId(), ownerToken).statusCode());
+        assertTrue(formRepository.findById(form.getId()).isEmpty());
+    }
+
+    private String tokenFor(String email) {
+        User user = new User(email, "hash", UserRole.ADMIN);
+        user.setVerified(true);
+        return tokenService.generateToken(userRepository.save(user));
+    }
+
+    private HttpResponse<String> send(String method, String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,109 @@
+package com.fulldev.formulario;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulldev.formulario.form.model.entities.Answer;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.FormService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class FormQueryCountTest {
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingQueryCountDoesNotGrowWithNumberOfForms() throws Exception {
+        String fewFormsOwner = createForms(2, 3);
+        String manyFormsOwner = createForms(25, 3);
+
+        long fewFormsQueries = countQueries(() -> objectMapper.writeValueAsBytes(formService.getFormSummaries(fewFormsOwner)));
+        long manyFormsQueries = countQueries(() -> objectMapper.writeValueAsBytes(formService.getFormSummaries(manyFormsOwner)));
+
+        assertEquals(1, fewFormsQueries);
+        assertEquals(fewFormsQueries, manyFormsQueries);
+    }
+
+    @Test
+    void detailQueryCountDoesNotGrowWithNumberOfQuestions() throws Exception {
+        String fewQuestionsOwner = createForms(1, 2);
+        String manyQuestionsOwner = createForms(1, 40);
+        Long fewQuestionsForm = formRepository.findByCreatedBy(fewQuestionsOwner).get(0).getId();
+        Long manyQuestionsForm = formRepository.findByCreatedBy(manyQuestionsOwner).get(0).getId();
+
+        long fewQuestionsQueries = countQueries(() -> objectMapper.writeValueAsBytes(formService.getFormDetail(fewQuestionsForm, fewQuestionsOwner).orElseThrow()));
+        long manyQuestionsQueries = countQueries(() -> objectMapper.writeValueAsBytes(formService.getFormDetail(manyQuestionsForm, manyQuestionsOwner).orElseThrow()));
+
+        assertEquals(fewQuestionsQueries, manyQuestionsQueries);
+    }
+
+    private long countQueries(ThrowingRunnable action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String createForms(int forms, int questionsPerForm) {
+        String owner = UUID.randomUUID() + "@example.com";
+        for (int i = 0; i < forms; i++) {
+            Form form = new Form();
+            form.setTitle("Formulário " + i);
+            form.setCreatedBy(owner);
+
+            for (int q = 0; q < questionsPerForm; q++) {
+                Question question = new Question();
+                question.setForm(form);
+                question.setTitle("Pergunta " + q);
+                question.setType("radio");
+                question.setOptions(new ArrayList<>(List.of("Sim", "Não")));
+                form.getQuestions().add(question);
+            }
+
+            Answer answer = new Answer();
+            answer.setForm(form);
+            answer.setAnswers(new HashMap<>());
+            form.getAnswers().add(answer);
+
+            formRepository.save(form);
+        }
+        return owner;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,163 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.FormRepublishService;
+import com.fulldev.formulario.form.service.PublicFormCache;
+import com.fulldev.formulario.form.service.RepublishJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "api.forms.republish.chunk-size=3",
+        "api.forms.republish.async-threshold=5"
+})
+@ActiveProfiles("test")
+class FormRepublishServiceTest {
+
+    @Autowired
+    private FormRepublishService formRepublishService;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private PublicFormCache publicFormCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void smallSetIsRepublishedInTheRequest() {
+        String owner = UUID.randomUUID() + "@example.com";
+        List<Form> published = createForms(owner, 4, true);
+        Form draft = createForms(owner, 1, false).get(0);
+        String cachedIdPublic = published.get(0).getIdPublic();
+        publicFormCache.get(cachedIdPublic);
+        int cachedBefore = publicFormCache.size();
+
+        Optional<RepublishJob> job = formRepublishService.defaultFormSettings(owner, "password", "segredo", false);
+
+        assertTrue(job.isEmpty());
+        assertEquals(cachedBefore - 1, publicFormCache.size());
+        for (Form before : published) {
+            Form after = formRepository.findById(before.getId()).orElseThrow();
+            assertEquals(FormHasLogin.PASSWORD, after.getFormHasLogin());
+            assertEquals("segredo", after.getAccessPassword());
+            assertFalse(after.isSendEmailResponsesCount());
+            assertNotEquals(before.getIdPublic(), after.getIdPublic());
+            assertTrue(after.getLink().endsWith("logintype=password&form=" + after.getIdPublic()));
+            assertEquals(before.getContentVersion() + 1, after.getContentVersion());
+        }
+        assertEquals(FormHasLogin.PUBLIC, formRepository.findById(draft.getId()).orElseThrow().getFormHasLogin());
+    }
+
+    @Test
+    void largeSetRunsAsJobWithProgress() throws Exception {
+        String owner = UUID.randomUUID() + "@example.com";
+        List<Form> published = createForms(owner, 11, true);
+
+        RepublishJob job = formRepublishService.defaultFormSettings(owner, "private", null, true).orElseThrow();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.getStatus() == RepublishJob.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(RepublishJob.Status.COMPLETED, job.getStatus());
+        assertEquals(11, job.toDTO().processed());
+        assertTrue(formRepublishService.getJob(job.getId(), owner).isPresent());
+        assertTrue(formRepublishService.getJob(job.getId(), "other@example.com").isEmpty());
+        for (Form before : published) {
+            Form after = formRepository.findById(before.getId()).orElseThrow();
+            assertEquals(FormHasLogin.PRIVATE, after.getFormHasLogin());
+            assertNotEquals(before.getIdPublic(), after.getIdPublic());
+        }
+    }
+
+    @Test
+    void rejectedJobFailsInsteadOfBlockingTheOwner() {
+        String owner = UUID.randomUUID() + "@example.com";
+        createForms(owner, 6, true);
+        FormRepublishService rejecting = new FormRepublishService(jdbcTemplate, transactionManager, publicFormCache,
+                command -> {
+                    throw new RejectedExecutionException();
+                }, 3, 5);
+
+        RepublishJob first = rejecting.defaultFormSettings(owner, "private", null, true).orElseThrow();
+        assertEquals(RepublishJob.Status.FAILED, first.getStatus());
+
+        RepublishJob second = rejecting.defaultFormSettings(owner, "private", null, true).orElseThrow();
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void concurrentRequestsStartOneJobPerOwner() throws Exception {
+        String owner = UUID.randomUUID() + "@example.com";
+        createForms(owner, 6, true);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        FormRepublishService blocking = new FormRepublishService(jdbcTemplate, transactionManager, publicFormCache,
+                command -> pool.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    command.run();
+                }), 3, 5);
+        try {
+            List<Future<RepublishJob>> requests = new ArrayList<>();
+            for (int i = 0; i < 4; i++)
+                requests.add(pool.submit(() -> blocking.defaultFormSettings(owner, "private", null, true).orElseThrow()));
+
+            Set<String> jobIds = new HashSet<>();
+            for (Future<RepublishJob> request : requests)
+                jobIds.add(request.get().getId());
+            assertEquals(1, jobIds.size());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private List<Form> createForms(String owner, int count, boolean published) {
+        List<Form> forms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Form form = new Form();
+            form.setTitle("Formulário " + i);
+            form.setCreatedBy(owner);
+            form.setIsPublished(published);
+            form.setIdPublic(published ? UUID.randomUUID().toString() : null);
+            forms.add(formRepository.save(form));
+        }
+        return forms;
+    }
+}
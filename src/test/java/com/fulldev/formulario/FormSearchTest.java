@@ -0,0 +1,91 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.dto.FormDTO;
+import com.fulldev.formulario.form.dto.FormSearchHitDTO;
+import com.fulldev.formulario.form.dto.FormSearchPageDTO;
+import com.fulldev.formulario.form.dto.QuestionDTO;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.service.FormSearchService;
+import com.fulldev.formulario.form.service.FormService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FormSearchTest {
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private FormSearchService formSearchService;
+
+    @Test
+    void searchFindsTitlesQuestionsAndFreeTextAnswersOfTheOwner() {
+        String owner = UUID.randomUUID() + "@example.com";
+        Form form = formService.createForm(new FormDTO("Pesquisa de satisfação", "Atendimento da loja", List.of(
+                new QuestionDTO("Como foi o atendimento?", null, "text", null, false),
+                new QuestionDTO("Nota", null, "radio", List.of("satisfação alta", "baixa"), false)
+        ), null), owner);
+        Question text = form.getQuestions().get(0);
+        Question radio = form.getQuestions().get(1);
+
+        formService.registerAnswer(form, Map.of(text.getId(), "Demorou mas a satisfação foi boa", radio.getId(), "satisfação alta"));
+        formService.registerAnswers(Map.of(form.getId(), List.of(Map.of(text.getId(), "Satisfação total"))));
+
+        FormSearchPageDTO page = formSearchService.search(owner, "SATISFAÇÃO", 0, 20);
+        assertEquals(3, page.total());
+        // o título pesa mais que as respostas; a resposta da pergunta de opções não entra no índice
+        assertEquals("TITLE", page.hits().get(0).kind());
+        assertEquals(2, page.hits().stream().filter(hit -> hit.kind().equals("ANSWER")).count());
+        assertTrue(page.hits().stream().allMatch(hit -> hit.formId().equals(form.getId())));
+
+        FormSearchPageDTO second = formSearchService.search(owner, "satisfação", 1, 2);
+        assertEquals(3, second.total());
+        assertEquals(1, second.hits().size());
+
+        // page * size passaria de Integer.MAX_VALUE: a página só vem vazia
+        FormSearchPageDTO far = formSearchService.search(owner, "satisfação", Integer.MAX_VALUE, 20);
+        assertEquals(3, far.total());
+        assertTrue(far.hits().isEmpty());
+
+        assertEquals(1, formSearchService.search(owner, "atendimento loja", 0, 20).total());
+        assertEquals(0, formSearchService.search(UUID.randomUUID() + "@example.com", "satisfação", 0, 20).total());
+        assertEquals(0, formSearchService.search(owner, "100%", 0, 20).total());
+    }
+
+    @Test
+    void updatingTheFormReplacesItsEntries() {
+        String owner = UUID.randomUUID() + "@example.com";
+        Form form = formService.createForm(new FormDTO("Inscrição no workshop", null, List.of(
+                new QuestionDTO("Nome completo", null, "text", null, true)
+        ), null), owner);
+        formService.registerAnswer(form, Map.of(form.getQuestions().get(0).getId(), "Maria Aparecida"));
+        assertEquals(1, formSearchService.search(owner, "aparecida", 0, 20).total());
+
+        Optional<Form> updated = formService.updateForm(form.getId(), owner, new FormDTO("Inscrição no curso", null, List.of(
+                new QuestionDTO("E-mail de contato", null, "text", null, true)
+        ), null));
+        assertTrue(updated.isPresent());
+
+        assertEquals(0, formSearchService.search(owner, "workshop", 0, 20).total());
+        assertEquals(0, formSearchService.search(owner, "completo", 0, 20).total());
+        // a pergunta respondida saiu do formulário, e a resposta dela sai da busca junto
+        assertEquals(0, formSearchService.search(owner, "aparecida", 0, 20).total());
+        List<FormSearchHitDTO> hits = formSearchService.search(owner, "contato", 0, 20).hits();
+        assertEquals(1, hits.size());
+        assertEquals("QUESTION", hits.get(0).kind());
+        assertEquals("Inscrição no curso", hits.get(0).formTitle());
+    }
+}
@@ -0,0 +1,76 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.dto.FormDTO;
+import com.fulldev.formulario.form.dto.FormStatisticsDTO;
+import com.fulldev.formulario.form.dto.QuestionDTO;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.FormService;
+import com.fulldev.formulario.form.service.FormStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FormStatisticsRebuildTest {
+
+    private static final int SUBMISSIONS = 400;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private FormStatisticsService formStatisticsService;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Test
+    void rebuildDuringSubmissionsKeepsExactTotals() throws Exception {
+        Form form = formService.createForm(new FormDTO("Estatísticas concorrentes", null, List.of(
+                new QuestionDTO("Cor", null, "radio", List.of("azul", "verde"), false)
+        ), null), UUID.randomUUID() + "@example.com");
+        Long questionId = form.getQuestions().get(0).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean submitting = new AtomicBoolean(true);
+        try {
+            Future<?> rebuilds = executor.submit(() -> {
+                while (submitting.get())
+                    formStatisticsService.rebuild(form.getId());
+            });
+
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                String option = i % 2 == 0 ? "azul" : "verde";
+                results.add(executor.submit(() -> formService.registerAnswer(form, Map.of(questionId, option))));
+            }
+            for (Future<Integer> result : results)
+                result.get();
+            submitting.set(false);
+            rebuilds.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        FormStatisticsDTO statistics = formStatisticsService.getStatistics(formRepository.findById(form.getId()).orElseThrow());
+        assertEquals(SUBMISSIONS, statistics.responsesCount());
+        assertEquals(SUBMISSIONS, statistics.questions().get(0).answeredCount());
+        assertEquals(Map.of("azul", (long) SUBMISSIONS / 2, "verde", (long) SUBMISSIONS / 2),
+                statistics.questions().get(0).optionCounts());
+    }
+}
@@ -0,0 +1,53 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.service.FormViewCounter;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FormViewCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final FormViewCounter formViewCounter = new FormViewCounter(jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void idleFormsLeaveTheMapAfterAFlushWithoutViews() {
+        formViewCounter.increment(1L);
+        formViewCounter.increment(1L);
+        formViewCounter.increment(2L);
+
+        formViewCounter.flush();
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertEquals(2, pendingViews().size());
+
+        // nenhuma visualização desde o último flush: os dois saem sem UPDATE
+        formViewCounter.flush();
+        assertTrue(pendingViews().isEmpty());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+
+        formViewCounter.increment(1L);
+        formViewCounter.flush();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertArrayEquals(new Object[]{1L, 1L}, batch.getValue().get(0));
+    }
+
+    private Map<?, ?> pendingViews() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(formViewCounter, "pendingViews");
+    }
+}
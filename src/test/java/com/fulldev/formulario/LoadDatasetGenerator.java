@@ -0,0 +1,145 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.FormHasLogin;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.FormService;
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.fulldev.formulario.security.domain.service.TokenService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Popula o banco do teste de carga com donos, formulários publicados, perguntas e respostas nos
+ * volumes pedidos. As respostas passam pelo FormService.registerAnswers, então contadores e
+ * estatísticas ficam coerentes com o que a API produziria.
+ */
+class LoadDatasetGenerator {
+
+    static final String PASSWORD = "Senha@123";
+
+    private static final int ANSWER_CHUNK = 2000;
+    private static final String[] OPTIONS = {"Ótimo", "Bom", "Regular", "Ruim"};
+
+    record Volumes(int users, int formsPerUser, int questionsPerForm, int answersPerForm) {
+
+        static Volumes fromSystemProperties() {
+            return new Volumes(Integer.getInteger("load.users", 200), Integer.getInteger("load.forms-per-user", 5),
+                    Integer.getInteger("load.questions", 10), Integer.getInteger("load.answers-per-form", 100));
+        }
+    }
+
+    record Owner(String email, String token, List<Long> formIds) {
+    }
+
+    record PublicForm(long id, String idPublic, List<Long> questionIds) {
+    }
+
+    record Dataset(List<Owner> owners, List<PublicForm> forms) {
+    }
+
+    private final UserRepository userRepository;
+    private final FormRepository formRepository;
+    private final FormService formService;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
+    private final Random random = new Random(42);
+
+    LoadDatasetGenerator(UserRepository userRepository, FormRepository formRepository, FormService formService,
+                         PasswordEncoder passwordEncoder, TokenService tokenService) {
+        this.userRepository = userRepository;
+        this.formRepository = formRepository;
+        this.formService = formService;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenService = tokenService;
+    }
+
+    Dataset generate(Volumes volumes) {
+        // o mesmo hash para todos: o custo do BCrypt aparece no login medido, não na geração
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<Owner> owners = new ArrayList<>(volumes.users());
+        List<PublicForm> forms = new ArrayList<>(volumes.users() * volumes.formsPerUser());
+
+        for (int u = 0; u < volumes.users(); u++) {
+            User user = new User("load-" + u + "-" + UUID.randomUUID() + "@example.com", passwordHash, UserRole.ADMIN);
+            user.setVerified(true);
+            userRepository.save(user);
+
+            List<Form> userForms = new ArrayList<>(volumes.formsPerUser());
+            for (int f = 0; f < volumes.formsPerUser(); f++)
+                userForms.add(form(user.getEmail(), f, volumes.questionsPerForm()));
+            formRepository.saveAll(userForms);
+
+            List<Long> formIds = new ArrayList<>(userForms.size());
+            for (Form form : userForms) {
+                formIds.add(form.getId());
+                forms.add(new PublicForm(form.getId(), form.getIdPublic(),
+                        form.getQuestions().stream().map(Question::getId).toList()));
+            }
+            owners.add(new Owner(user.getEmail(), tokenService.generateToken(user), formIds));
+        }
+
+        Map<Long, List<Map<Long, String>>> chunk = new LinkedHashMap<>();
+        int pending = 0;
+        for (PublicForm form : forms) {
+            List<Map<Long, String>> submissions = new ArrayList<>(volumes.answersPerForm());
+            for (int a = 0; a < volumes.answersPerForm(); a++)
+                submissions.add(answers(form));
+            chunk.put(form.id(), submissions);
+            pending += submissions.size();
+            if (pending >= ANSWER_CHUNK) {
+                formService.registerAnswers(chunk);
+                chunk = new LinkedHashMap<>();
+                pending = 0;
+            }
+        }
+        if (!chunk.isEmpty())
+            formService.registerAnswers(chunk);
+
+        return new Dataset(owners, forms);
+    }
+
+    Map<Long, String> answers(PublicForm form) {
+        Map<Long, String> answers = new HashMap<>();
+        for (int q = 0; q < form.questionIds().size(); q++) {
+            String response = q % 2 == 0 ? "resposta livre " + random.nextInt(1000) : OPTIONS[random.nextInt(OPTIONS.length)];
+            answers.put(form.questionIds().get(q), response);
+        }
+        return answers;
+    }
+
+    private Form form(String createdBy, int index, int questions) {
+        Form form = new Form();
+        form.setTitle("Formulário de carga " + index);
+        form.setDescription("Gerado para o teste de carga");
+        form.setCreatedBy(createdBy);
+        form.setIdPublic(UUID.randomUUID().toString());
+        form.setIsPublished(true);
+        form.setFormHasLogin(FormHasLogin.PUBLIC);
+        form.setSendEmailResponsesCount(true);
+        for (int q = 0; q < questions; q++) {
+            Question question = new Question();
+            question.setForm(form);
+            question.setTitle("Pergunta " + q);
+            question.setRequired(q == 0);
+            if (q % 2 == 0) {
+                question.setType("text");
+            } else {
+                question.setType("radio");
+                question.setOptions(List.of(OPTIONS));
+            }
+            form.getQuestions().add(question);
+        }
+        return form;
+    }
+}
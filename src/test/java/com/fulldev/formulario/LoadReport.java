@@ -0,0 +1,84 @@
+package com.fulldev.formulario;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latências e erros por rota de uma rodada de carga. Guarda todas as amostras para que p99 e p999
+ * sejam exatos, o que cabe folgado na memória para rodadas de alguns minutos.
+ */
+class LoadReport {
+
+    record Summary(String endpoint, long requests, long errors, double throughput,
+                   double p50Millis, double p99Millis, double p999Millis) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private final Map<String, Samples> endpoints = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean error) {
+        endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, error);
+    }
+
+    List<Summary> summarize(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        return endpoints.entrySet().stream().map(entry -> {
+            Samples samples = entry.getValue();
+            long[] sorted = samples.sorted();
+            return new Summary(entry.getKey(), sorted.length, samples.errors(), sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), millis(percentile(sorted, 0.999)));
+        }).toList();
+    }
+
+    static String format(List<Summary> summaries) {
+        StringBuilder out = new StringBuilder(String.format("%-22s %10s %10s %10s %10s %10s %8s%n",
+                "rota", "requisições", "req/s", "p50 ms", "p99 ms", "p999 ms", "erros"));
+        for (Summary summary : summaries) {
+            out.append(String.format("%-22s %10d %10.1f %10.2f %10.2f %10.2f %7.2f%%%n", summary.endpoint(),
+                    summary.requests(), summary.throughput(), summary.p50Millis(), summary.p99Millis(),
+                    summary.p999Millis(), summary.errorRate() * 100));
+        }
+        return out.toString();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0)
+            return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long latencyNanos, boolean error) {
+            if (size == latencies.length)
+                latencies = Arrays.copyOf(latencies, size * 2);
+            latencies[size++] = latencyNanos;
+            if (error)
+                errors++;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
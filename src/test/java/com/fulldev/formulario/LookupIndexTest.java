@@ -0,0 +1,125 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.fulldev.formulario.security.domain.service.OneTimeTokens;
+import com.fulldev.formulario.security.domain.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LookupIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void lookupsUseIndexes() {
+        assertPlanUses("SELECT * FROM users WHERE verification_token = 'x'", "ux_users_verification_token");
+        assertPlanUses("SELECT * FROM users WHERE reset_token = 'x'", "ux_users_reset_token");
+        assertPlanUses("SELECT * FROM form WHERE id_public = 'x'", "ux_form_id_public");
+        assertPlanUses("SELECT * FROM form WHERE created_by = 'x' ORDER BY created_at DESC", "idx_form_created_by");
+        // o H2 pode preferir o índice da FK, que também começa por form_id; o que importa é não varrer a tabela
+        assertPlanUsesIndexOn("SELECT * FROM answer WHERE form_id = 1", "answer", "form_id");
+        assertPlanUsesIndexOn("SELECT * FROM question WHERE form_id = 1", "question", "form_id");
+        assertPlanUses("UPDATE users SET reset_token = NULL WHERE reset_token_expires_at < CURRENT_TIMESTAMP",
+                "idx_users_reset_token_expires_at");
+    }
+
+    @Test
+    void tokensAreStoredHashedAndExpire() {
+        User user = userService.register(new User(UUID.randomUUID() + "@example.com", "hash", UserRole.ADMIN),
+                "token-de-verificacao", "http://localhost/verify?token=token-de-verificacao");
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(OneTimeTokens.hash("token-de-verificacao"), stored.getVerificationToken());
+        assertNotNull(stored.getVerificationTokenExpiresAt());
+
+        stored.setVerificationTokenExpiresAt(Instant.now().minusSeconds(1));
+        userRepository.save(stored);
+        assertTrue(userService.verify("token-de-verificacao").isEmpty());
+
+        userService.purgeExpiredTokens();
+        assertNull(userRepository.findById(user.getId()).orElseThrow().getVerificationToken());
+
+        assertTrue(userService.requestPasswordReset(user.getEmail(), "token-de-reset", "http://localhost/reset").isPresent());
+        assertTrue(userService.resetPassword("token-de-verificacao", "nova").isEmpty());
+        assertTrue(userService.resetPassword("token-de-reset", "nova").isPresent());
+        assertEquals("nova", userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void baselinedDatabaseGetsSequencesAfterExistingIds() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        // um banco do antigo ddl-auto=update: ids por identity e só o esquema da V1
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target("1").load().migrate();
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.update("INSERT INTO form (title, send_email_responses_count, is_published, created_at) "
+                + "VALUES ('antigo', true, true, CURRENT_TIMESTAMP)");
+        Long formId = legacy.queryForObject("SELECT MAX(id) FROM form", Long.class);
+        legacy.update("INSERT INTO question (id, form_id, title, type, required) VALUES (120, ?, 'p', 'text', false)", formId);
+        legacy.update("INSERT INTO answer (id, form_id) VALUES (75, ?)", formId);
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        // o primeiro bloco de 50 do otimizador pooled termina no valor lido e começa logo depois do maior id
+        assertEquals(170L, legacy.queryForObject("SELECT nextval('question_seq')", Long.class));
+        assertEquals(125L, legacy.queryForObject("SELECT nextval('answer_seq')", Long.class));
+        assertEquals(0L, legacy.queryForObject("SELECT content_version FROM form WHERE id = ?", Long.class, formId));
+    }
+
+    private void assertPlanUses(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertNotNull(plan);
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), () -> "plano sem " + index + ": " + plan);
+    }
+
+    private void assertPlanUsesIndexOn(String sql, String table, String column) {
+        Set<String> indexes = indexesStartingWith(table, column);
+        assertFalse(indexes.isEmpty(), () -> "nenhum índice em " + table + "(" + column + ")");
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertNotNull(plan);
+        String lowerPlan = plan.toLowerCase(Locale.ROOT);
+        assertTrue(indexes.stream().anyMatch(lowerPlan::contains),
+                () -> "plano sem índice em " + table + "(" + column + ") " + indexes + ": " + plan);
+    }
+
+    private Set<String> indexesStartingWith(String table, String column) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> names = new HashSet<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, false)) {
+                while (rs.next()) {
+                    if (rs.getShort("ORDINAL_POSITION") == 1 && column.equalsIgnoreCase(rs.getString("COLUMN_NAME")))
+                        names.add(rs.getString("INDEX_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            return names;
+        });
+    }
+}
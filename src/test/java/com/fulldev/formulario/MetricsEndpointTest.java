@@ -0,0 +1,117 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.FormMetrics;
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.fulldev.formulario.security.domain.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void prometheusExposesRequestAndSubmissionMetrics() throws Exception {
+        Form form = new Form();
+        form.setTitle("Formulário medido");
+        form.setCreatedBy("owner@example.com");
+        form.setIsPublished(true);
+        form.setIdPublic(UUID.randomUUID().toString());
+        Question question = new Question();
+        question.setForm(form);
+        question.setTitle("Pergunta");
+        question.setType("text");
+        form.getQuestions().add(question);
+        formRepository.save(form);
+
+        String body = "[{\"questionId\":" + form.getQuestions().get(0).getId() + ",\"response\":\"resposta\"}]";
+        HttpRequest answer = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/forms/" + form.getIdPublic() + "/answers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        assertEquals(201, client.send(answer, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        User user = new User(UUID.randomUUID() + "@example.com", "hash", UserRole.ADMIN);
+        user.setVerified(true);
+        String token = tokenService.generateToken(userRepository.save(user));
+        HttpRequest myForms = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/forms/my-forms"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        assertEquals(200, client.send(myForms, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        HttpResponse<String> scrape = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + managementPort + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, scrape.statusCode());
+        String metrics = scrape.body();
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket"));
+        assertTrue(metrics.contains("uri=\"/api/forms/{idPublic}/answers\""));
+        assertTrue(metrics.contains("forms_submissions_total{"));
+        assertTrue(metrics.contains("form=\"" + form.getId() + "\""));
+        assertTrue(metrics.contains("security_jwt_verify_seconds_count{"));
+        assertTrue(metrics.contains("hikaricp_connections_pending"));
+        assertTrue(metrics.contains("executor_queued_tasks{"));
+
+        // o endpoint é público só na porta de gerenciamento; na da aplicação é negado, sem redirecionar ao login
+        HttpResponse<String> onServerPort = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(403, onServerPort.statusCode());
+        HttpResponse<String> healthOnServerPort = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(403, healthOnServerPort.statusCode());
+    }
+
+    @Test
+    void formTagsAreBounded() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FormMetrics formMetrics = new FormMetrics(registry, 2);
+
+        for (long formId = 1; formId <= 100; formId++)
+            formMetrics.submission(formId, "stored");
+        formMetrics.submission(1L, "stored");
+
+        assertEquals(3, registry.find("forms.submissions").counters().size());
+        assertEquals(2, registry.get("forms.submissions").tag("form", "1").counter().count());
+        assertEquals(98, registry.get("forms.submissions").tag("form", FormMetrics.OTHER).counter().count());
+    }
+}
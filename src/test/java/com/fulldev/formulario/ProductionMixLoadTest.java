@@ -0,0 +1,223 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.FormService;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.fulldev.formulario.security.domain.service.TokenService;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sobe a aplicação com H2 e um SMTP local (GreenMail), gera um conjunto de dados sintético e
+ * repete uma mistura de tráfego parecida com a de produção: formulário público, envio de
+ * respostas, login e o painel do dono. Imprime vazão, p50/p99/p999 e taxa de erros por rota e
+ * falha se a taxa de erros (ou o p99, quando configurado) passar do limite.
+ * <pre>
+ * mvn -Pload test -Dtest=ProductionMixLoadTest
+ * mvn -Pload test -Dtest=ProductionMixLoadTest -Dload.users=1000 -Dload.duration-seconds=120 -Dload.max-p99-ms=250
+ * </pre>
+ * Volumes: {@code load.users}, {@code load.forms-per-user}, {@code load.questions}, {@code load.answers-per-form}.
+ * Rodada: {@code load.clients}, {@code load.warmup-seconds}, {@code load.duration-seconds} e {@code load.mix}
+ * (pesos, ex. {@code public:50,submit:30,my-forms:10,stats:5,login:5}).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.properties.mail.smtp.starttls.required=false",
+        "api.email.outbox.enabled=true",
+        "api.email.outbox.poll-interval-ms=500",
+        "server.tomcat.threads.max=200"
+})
+@ActiveProfiles("test")
+class ProductionMixLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionMixLoadTest.class);
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication())
+            .withPerMethodLifecycle(false);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void productionTrafficMix() throws Exception {
+        LoadDatasetGenerator.Volumes volumes = LoadDatasetGenerator.Volumes.fromSystemProperties();
+        long generationStart = System.nanoTime();
+        LoadDatasetGenerator.Dataset dataset = new LoadDatasetGenerator(userRepository, formRepository, formService,
+                passwordEncoder, tokenService).generate(volumes);
+        log.info("Dados gerados em {} ms: {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - generationStart), volumes);
+
+        int clients = Integer.getInteger("load.clients", 32);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("load.warmup-seconds", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("load.duration-seconds", 60));
+        Map<String, Integer> mix = mix(System.getProperty("load.mix", "public:50,submit:30,my-forms:10,stats:5,login:5"));
+
+        LoadReport report = new LoadReport();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long deadline = measureFrom + durationNanos;
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> workers = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++)
+                workers.add(executor.submit(() -> replay(dataset, mix, report, measureFrom, deadline)));
+            for (Future<?> worker : workers)
+                worker.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<LoadReport.Summary> summaries = report.summarize(durationNanos);
+        String table = LoadReport.format(summaries);
+        log.info("Mix de produção:\n{}", table);
+        log.info("E-mails entregues ao SMTP: {}", greenMail.getReceivedMessages().length);
+        Files.writeString(Path.of(System.getProperty("load.report", "target/load-report.txt")), table);
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        long maxP99Millis = Long.getLong("load.max-p99-ms", 0);
+        for (LoadReport.Summary summary : summaries) {
+            assertTrue(summary.errorRate() <= maxErrorRate,
+                    () -> summary.endpoint() + ": taxa de erros " + summary.errorRate());
+            if (maxP99Millis > 0)
+                assertTrue(summary.p99Millis() <= maxP99Millis,
+                        () -> summary.endpoint() + ": p99 de " + summary.p99Millis() + " ms");
+        }
+    }
+
+    private void replay(LoadDatasetGenerator.Dataset dataset, Map<String, Integer> mix, LoadReport report,
+                        long measureFrom, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            String endpoint = pick(mix, random.nextInt(totalWeight));
+            HttpRequest request = request(endpoint, dataset, random);
+            boolean error;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                error = status >= 400;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (now >= measureFrom)
+                report.record(endpoint, System.nanoTime() - now, error);
+        }
+    }
+
+    private HttpRequest request(String endpoint, LoadDatasetGenerator.Dataset dataset, ThreadLocalRandom random) {
+        LoadDatasetGenerator.PublicForm form = dataset.forms().get(random.nextInt(dataset.forms().size()));
+        LoadDatasetGenerator.Owner owner = dataset.owners().get(random.nextInt(dataset.owners().size()));
+        return switch (endpoint) {
+            case "public" -> HttpRequest.newBuilder(uri("/api/forms/public/public/" + form.idPublic() + "?password=")).GET().build();
+            case "submit" -> HttpRequest.newBuilder(uri("/api/forms/" + form.idPublic() + "/answers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(answersJson(form, random)))
+                    .build();
+            case "my-forms" -> HttpRequest.newBuilder(uri("/api/forms/my-forms"))
+                    .header("Authorization", "Bearer " + owner.token())
+                    .GET().build();
+            case "stats" -> HttpRequest.newBuilder(uri("/api/forms/" + owner.formIds().get(random.nextInt(owner.formIds().size())) + "/stats"))
+                    .header("Authorization", "Bearer " + owner.token())
+                    .GET().build();
+            case "login" -> HttpRequest.newBuilder(uri("/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + owner.email() + "\",\"password\":\"" + LoadDatasetGenerator.PASSWORD + "\"}"))
+                    .build();
+            default -> throw new IllegalArgumentException("Rota desconhecida em load.mix: " + endpoint);
+        };
+    }
+
+    private static String answersJson(LoadDatasetGenerator.PublicForm form, ThreadLocalRandom random) {
+        StringBuilder json = new StringBuilder("[");
+        for (Long questionId : form.questionIds()) {
+            if (json.length() > 1)
+                json.append(',');
+            json.append("{\"questionId\":").append(questionId)
+                    .append(",\"response\":\"resposta ").append(random.nextInt(1000)).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String pick(Map<String, Integer> mix, int roll) {
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0)
+                return entry.getKey();
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Map<String, Integer> mix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(weight[0], Integer.parseInt(weight[1]));
+        }
+        return mix;
+    }
+}
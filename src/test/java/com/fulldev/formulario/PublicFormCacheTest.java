@@ -0,0 +1,96 @@
+package com.fulldev.formulario;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.PublicFormCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublicFormCacheTest {
+
+    private final FormRepository formRepository = mock(FormRepository.class);
+
+    @Test
+    void loadOverlappingAnEvictIsNotCached() {
+        PublicFormCache cache = cache(10_000, 10);
+        AtomicReference<PublicFormCache> self = new AtomicReference<>(cache);
+        // o evict chega enquanto a carga ainda lia o estado antigo
+        when(formRepository.findByidPublic("a")).thenAnswer(invocation -> {
+            self.get().evict("a");
+            return form(1L, "a");
+        });
+
+        assertNotNull(cache.get("a"));
+        assertEquals(0, cache.size());
+
+        when(formRepository.findByidPublic("a")).thenReturn(form(1L, "a"));
+        cache.get("a");
+        cache.get("a");
+        assertEquals(1, cache.size());
+        verify(formRepository, times(2)).findByidPublic("a");
+    }
+
+    @Test
+    void evictsInInsertionOrderWhenFull() {
+        PublicFormCache cache = cache(10_000, 2);
+        for (String id : new String[]{"a", "b", "c"}) {
+            when(formRepository.findByidPublic(id)).thenReturn(form((long) id.charAt(0), id));
+            cache.get(id);
+        }
+
+        assertEquals(2, cache.size());
+        cache.get("a");
+        verify(formRepository, times(2)).findByidPublic("a");
+        cache.get("c");
+        verify(formRepository, times(1)).findByidPublic("c");
+
+        cache.evict("c");
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void unknownIdsAreCachedBrieflyWithinTheSameLimits() {
+        PublicFormCache cache = cache(10_000, 2);
+
+        assertNull(cache.get("x"));
+        assertNull(cache.get("x"));
+        verify(formRepository, times(1)).findByidPublic("x");
+
+        // o id passa a existir: o evict do publish derruba a entrada negativa
+        when(formRepository.findByidPublic("x")).thenReturn(form(1L, "x"));
+        cache.evict("x");
+        assertNotNull(cache.get("x"));
+        verify(formRepository, times(2)).findByidPublic("x");
+
+        cache.get("y");
+        cache.get("z");
+        assertEquals(2, cache.size());
+        cache.get("x");
+        verify(formRepository, times(3)).findByidPublic("x");
+    }
+
+    private PublicFormCache cache(long maxBytes, int maxEntries) {
+        return new PublicFormCache(formRepository, new ObjectMapper().findAndRegisterModules(),
+                mock(PlatformTransactionManager.class), maxBytes, maxEntries, 60_000);
+    }
+
+    private static Form form(Long id, String idPublic) {
+        Form form = new Form();
+        form.setId(id);
+        form.setIdPublic(idPublic);
+        form.setTitle("Formulário " + idPublic);
+        form.setIsPublished(true);
+        return form;
+    }
+}
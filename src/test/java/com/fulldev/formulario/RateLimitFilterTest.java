@@ -0,0 +1,94 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.security.infra.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"api.rate-limit.enabled=true", "api.rate-limit.ip.per-minute=1000", "api.rate-limit.ip.burst=1000"})
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Test
+    void bucketAllowsBurstThenRejects() {
+        RateLimiter limiter = new RateLimiter(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("form", 60, 5));
+        }
+        long waitNanos = limiter.tryAcquire("form", 60, 5);
+
+        assertTrue(waitNanos > 0 && waitNanos <= 1_000_000_000L);
+        assertEquals(0, limiter.tryAcquire("other-form", 60, 5));
+    }
+
+    @Test
+    void limiterMemoryIsBounded() {
+        RateLimiter limiter = new RateLimiter(100);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("ip-" + i, 60, 5);
+        }
+
+        assertTrue(limiter.size() <= 100);
+    }
+
+    @Test
+    void floodOfNewKeysDoesNotResetLimitedClients() {
+        RateLimiter limiter = new RateLimiter(100);
+        for (int i = 0; i < 5; i++)
+            limiter.tryAcquire("abusive", 1, 5);
+        assertTrue(limiter.tryAcquire("abusive", 1, 5) > 0);
+
+        for (int i = 0; i < 1000; i++)
+            limiter.tryAcquire("ip-" + i, 60, 5);
+
+        assertTrue(limiter.size() <= 100);
+        assertTrue(limiter.tryAcquire("abusive", 1, 5) > 0);
+    }
+
+    @Test
+    void formLimitReturns429WithRetryAfter() throws Exception {
+        Form form = new Form();
+        form.setTitle("Formulário limitado");
+        form.setCreatedBy("owner@example.com");
+        form.setIsPublished(true);
+        form.setIdPublic(UUID.randomUUID().toString());
+        form.setRateLimitPerMinute(3);
+        formRepository.save(form);
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/forms/" + form.getIdPublic() + "/answers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("[]"))
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(201, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+        HttpResponse<String> limited = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(429, limited.statusCode());
+        assertEquals("20", limited.headers().firstValue("Retry-After").orElseThrow());
+    }
+}
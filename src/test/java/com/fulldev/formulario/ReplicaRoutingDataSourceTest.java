@@ -0,0 +1,88 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.infra.datasource.ReplicaLagMonitor;
+import com.fulldev.formulario.security.infra.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final int MAX_KEYS = 10;
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(lagMonitor.isAvailable()).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor, 60_000, MAX_KEYS);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void fullStickyMapEvictsOnlyTheOldestWriters() throws Exception {
+        for (int i = 0; i <= MAX_KEYS; i++) {
+            write("user" + i + "@example.com");
+            // janelas com instantes diferentes, para a ordem de quem é mais antigo ficar definida
+            Thread.sleep(2);
+        }
+
+        assertSame(replicaConnection, read("user0@example.com"));
+        for (int i = 1; i <= MAX_KEYS; i++)
+            assertSame(primaryConnection, read("user" + i + "@example.com"));
+    }
+
+    private void write(String user) throws Exception {
+        authenticate(user);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertSame(primaryConnection, routing.getConnection());
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Connection read(String user) throws Exception {
+        authenticate(user);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return routing.getConnection();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -0,0 +1,161 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.PublicFormCache;
+import com.fulldev.formulario.security.infra.datasource.ReplicaLagMonitor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dois H2 em memória fazem o papel de primário e réplica. Sem replicação entre eles, um formulário
+ * gravado só na réplica mostra para onde cada leitura foi.
+ */
+@SpringBootTest(properties = {
+        "api.datasource.replica.enabled=true",
+        "api.datasource.replica.url=" + ReplicaRoutingTest.REPLICA_URL,
+        "api.datasource.replica.username=sa",
+        "api.datasource.replica.driver-class-name=org.h2.Driver",
+        "api.datasource.replica.lag-query=SELECT lag_ms FROM replica_lag",
+        "api.datasource.replica.max-lag-ms=1000",
+        "api.datasource.replica.lag-check-interval-ms=3600000",
+        "api.datasource.replica.sticky-ms=60000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final String OWNER = "replica-only@example.com";
+    private static final String REPLICA_ONLY_ID_PUBLIC = "so-na-replica";
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private PublicFormCache publicFormCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource replicaSetup = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaSetup).locations("classpath:db/migration").load().migrate();
+        replica = new JdbcTemplate(replicaSetup);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag (lag_ms) VALUES (0)");
+        replica.update("DELETE FROM form WHERE created_by = ?", OWNER);
+        replica.update("INSERT INTO form (title, created_by, send_email_responses_count, is_published, id_public, " +
+                "responses_count, views, created_at) VALUES ('Só na réplica', ?, false, true, ?, 0, 0, CURRENT_TIMESTAMP)",
+                OWNER, REPLICA_ONLY_ID_PUBLIC);
+        replicaLagMonitor.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertTrue(replicaLagMonitor.isAvailable());
+        // os métodos de leitura do repositório são @Transactional(readOnly = true)
+        assertEquals(1, formRepository.findByCreatedBy(OWNER).size());
+
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        assertEquals(0, write.execute(status -> formRepository.findByCreatedBy(OWNER)).size());
+    }
+
+    @Test
+    void publicFormCacheMissesLoadFromThePrimary() {
+        assertTrue(replicaLagMonitor.isAvailable());
+        // o que o cache guarda fica até o próximo evict, então não pode vir de uma réplica atrasada
+        assertNull(publicFormCache.get(REPLICA_ONLY_ID_PUBLIC));
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestStayOnThePrimary() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals(1, formRepository.findByCreatedBy(OWNER).size());
+
+        saveForm("anonimo@example.com");
+        assertEquals(0, formRepository.findByCreatedBy(OWNER).size());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals(1, formRepository.findByCreatedBy(OWNER).size());
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromThePrimaryInTheNextRequests() {
+        String writer = UUID.randomUUID() + "@example.com";
+        authenticate(writer);
+        saveForm(writer);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals(1, formRepository.findByCreatedBy(writer).size());
+        assertEquals(0, formRepository.findByCreatedBy(OWNER).size());
+
+        authenticate(UUID.randomUUID() + "@example.com");
+        assertEquals(1, formRepository.findByCreatedBy(OWNER).size());
+    }
+
+    @Test
+    void laggingOrUnreachableReplicaFallsBackToThePrimary() {
+        replica.update("UPDATE replica_lag SET lag_ms = 5000");
+        replicaLagMonitor.refresh();
+        assertFalse(replicaLagMonitor.isAvailable());
+        assertEquals(0, formRepository.findByCreatedBy(OWNER).size());
+
+        replica.execute("DROP TABLE replica_lag");
+        replicaLagMonitor.refresh();
+        assertFalse(replicaLagMonitor.isAvailable());
+        assertEquals(0, formRepository.findByCreatedBy(OWNER).size());
+
+        replica.execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+        replica.update("INSERT INTO replica_lag (lag_ms) VALUES (10)");
+        replicaLagMonitor.refresh();
+        assertEquals(1, formRepository.findByCreatedBy(OWNER).size());
+    }
+
+    private void saveForm(String createdBy) {
+        Form form = new Form();
+        form.setTitle("Gravado no primário");
+        form.setCreatedBy(createdBy);
+        formRepository.save(form);
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -0,0 +1,193 @@
+package com.fulldev.formulario;
+
+import org.junit.jupiter.api.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o modelo de threads atual com virtual threads sob I/O bloqueante. Fica fora do
+ * {@code mvn test}; rode as duas variantes e compare a saída:
+ * <pre>
+ * mvn -Pload test -Dtest=RequestThreadingLoadTest
+ * mvn -Pload,java21 test -Dtest=RequestThreadingLoadTest -Dspring.threads.virtual.enabled=true
+ * </pre>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.threads.max=50")
+@ActiveProfiles("test")
+class RequestThreadingLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestThreadingLoadTest.class);
+
+    private static final int REQUESTS = 1000;
+    private static final long BLOCKING_MILLIS = 100;
+    private static final int EMAILS = 500;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    @Qualifier("emailTaskExecutor")
+    private Executor emailTaskExecutor;
+
+    @Test
+    void blockingRequestsUnderLoad() throws Exception {
+        inFlight.set(0);
+        maxInFlight.set(0);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        URI uri = URI.create("http://localhost:" + port + "/load/blocking");
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        assertEquals(200, response.statusCode());
+                        return System.nanoTime() - sent;
+                    }));
+        }
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            latencies[i] = futures.get(i).get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+
+        log.info("[{}] {} requisições em {} ms, p50={} ms, p99={} ms, concorrência máxima={}",
+                mode(), REQUESTS, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.50)),
+                TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.99)),
+                maxInFlight.get());
+
+        if (virtualThreads)
+            assertTrue(maxInFlight.get() > 50, "virtual threads não deveriam ficar presas ao pool do Tomcat");
+        else
+            assertTrue(maxInFlight.get() <= 50);
+    }
+
+    @Test
+    void slowSmtpUnderLoad() throws Exception {
+        CountDownLatch sent = new CountDownLatch(EMAILS);
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < EMAILS; i++) {
+            try {
+                emailTaskExecutor.execute(() -> {
+                    sleep(BLOCKING_MILLIS);
+                    sent.countDown();
+                });
+            } catch (TaskRejectedException e) {
+                rejected++;
+                sent.countDown();
+            }
+        }
+        assertTrue(sent.await(60, TimeUnit.SECONDS));
+
+        log.info("[{}] {} e-mails em {} ms, rejeitados={}",
+                mode(), EMAILS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), rejected);
+
+        if (virtualThreads)
+            assertEquals(0, rejected);
+    }
+
+    private String mode() {
+        return virtualThreads ? "virtual threads" : "pool de threads";
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class LoadConfiguration {
+
+        @Bean
+        @Order(0)
+        SecurityFilterChain loadFilterChain(HttpSecurity http) throws Exception {
+            return http.securityMatcher("/load/**")
+                    .csrf(csrf -> csrf.disable())
+                    .authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll())
+                    .build();
+        }
+
+        @Bean
+        BlockingController blockingController(JdbcTemplate jdbcTemplate) {
+            return new BlockingController(jdbcTemplate);
+        }
+    }
+
+    /**
+     * Simula uma rota comum: uma consulta JDBC curta seguida de uma espera por I/O externo.
+     */
+    @RestController
+    static class BlockingController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        BlockingController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/load/blocking")
+        String blocking() {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                sleep(BLOCKING_MILLIS);
+                return "ok";
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.security.domain.model.entity.User;
+import com.fulldev.formulario.security.domain.model.entity.UserRole;
+import com.fulldev.formulario.security.domain.repository.UserRepository;
+import com.fulldev.formulario.security.domain.service.RequestUserResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestUserResolverTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RequestUserResolver resolver = new RequestUserResolver(userRepository);
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void looksUpEachEmailOncePerRequest() {
+        User user = new User("owner@example.com", "hash", UserRole.ADMIN);
+        when(userRepository.findByEmail("owner@example.com")).thenReturn(user);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertSame(user, resolver.findByEmail("owner@example.com"));
+        assertSame(user, resolver.findByEmail("owner@example.com"));
+        assertNull(resolver.findByEmail("missing@example.com"));
+        assertNull(resolver.findByEmail("missing@example.com"));
+
+        verify(userRepository, times(1)).findByEmail("owner@example.com");
+        verify(userRepository, times(1)).findByEmail("missing@example.com");
+    }
+
+    @Test
+    void rememberedUsersSkipTheQuery() {
+        User user = new User("new@example.com", "hash", UserRole.ADMIN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        resolver.remember(user);
+
+        assertSame(user, resolver.findByEmail("new@example.com"));
+        verify(userRepository, never()).findByEmail("new@example.com");
+    }
+
+    @Test
+    void outsideARequestQueriesEveryTime() {
+        when(userRepository.findByEmail("owner@example.com")).thenReturn(null);
+
+        resolver.findByEmail("owner@example.com");
+        resolver.findByEmail("owner@example.com");
+
+        verify(userRepository, times(2)).findByEmail("owner@example.com");
+    }
+}
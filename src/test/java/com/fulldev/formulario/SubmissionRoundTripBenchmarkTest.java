@@ -0,0 +1,152 @@
+package com.fulldev.formulario;
+
+import com.fulldev.formulario.form.dto.AnswerDTO;
+import com.fulldev.formulario.form.model.entities.Form;
+import com.fulldev.formulario.form.model.entities.Question;
+import com.fulldev.formulario.form.repositoryes.FormRepository;
+import com.fulldev.formulario.form.service.FormService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SubmissionRoundTripBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionRoundTripBenchmarkTest.class);
+
+    private static final int QUESTIONS = 30;
+    private static final int SUBMISSIONS = 20;
+
+    private static final AtomicLong statements = new AtomicLong();
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void batchedSubmissionNeedsFewerRoundTrips() {
+        Form form = createForm();
+        List<AnswerDTO> answers = form.getQuestions().stream()
+                .map(question -> new AnswerDTO(question.getId(), "resposta"))
+                .toList();
+
+        // aquece a sequência de ids para não contar a alocação do primeiro bloco
+        submit(form, answers, null);
+
+        double unbatched = averageRoundTrips(form, answers, 1);
+        double batched = averageRoundTrips(form, answers, null);
+
+        log.info("Round trips por resposta com {} perguntas: sem lote = {}, com lote = {}",
+                QUESTIONS, unbatched, batched);
+        assertTrue(batched < unbatched, "com lote = " + batched + ", sem lote = " + unbatched);
+        assertTrue(batched <= 10, "esperado no máximo 10 round trips por resposta, medido " + batched);
+    }
+
+    private double averageRoundTrips(Form form, List<AnswerDTO> answers, Integer jdbcBatchSize) {
+        long total = 0;
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            total += submit(form, answers, jdbcBatchSize);
+        }
+        return (double) total / SUBMISSIONS;
+    }
+
+    private long submit(Form form, List<AnswerDTO> answers, Integer jdbcBatchSize) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        statements.set(0);
+        transaction.executeWithoutResult(status -> {
+            if (jdbcBatchSize != null)
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            Form managed = formRepository.findById(form.getId()).orElseThrow();
+            formService.registerAnswer(managed, answers);
+        });
+        return statements.get();
+    }
+
+    private Form createForm() {
+        Form form = new Form();
+        form.setTitle("Benchmark");
+        form.setCreatedBy("benchmark@example.com");
+        form.setIsPublished(true);
+        form.setIdPublic(UUID.randomUUID().toString());
+        form.setSendEmailResponsesCount(false);
+
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = new Question();
+            question.setForm(form);
+            question.setTitle("Pergunta " + i);
+            question.setType("text");
+            question.setOptions(new ArrayList<>());
+            form.getQuestions().add(question);
+        }
+        return formRepository.save(form);
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource)
+                        return proxy(DataSource.class, dataSource);
+                    return bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute"))
+                    statements.incrementAndGet();
+
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+
+                if (result instanceof Connection connection && method.getReturnType() == Connection.class)
+                    return proxy(Connection.class, connection);
+                if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType()))
+                    return proxy((Class<Statement>) method.getReturnType(), statement);
+                return result;
+            });
+        }
+    }
+}